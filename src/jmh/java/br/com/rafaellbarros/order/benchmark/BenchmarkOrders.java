@@ -0,0 +1,51 @@
+package br.com.rafaellbarros.order.benchmark;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Massa de dados determinística compartilhada pelos benchmarks.
+ */
+final class BenchmarkOrders {
+
+    private BenchmarkOrders() {
+    }
+
+    static List<Order> orders(int count, int itemsPerOrder) {
+        final var random = new SplittableRandom(42);
+        return IntStream.range(0, count)
+                .mapToObj(i -> order("ext-" + i, itemsPerOrder, random))
+                .toList();
+    }
+
+    static Order order(String externalId, int itemsPerOrder) {
+        return order(externalId, itemsPerOrder, new SplittableRandom(42));
+    }
+
+    private static Order order(String externalId, int itemsPerOrder, SplittableRandom random) {
+        final var items = new ArrayList<OrderItem>(itemsPerOrder);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            items.add(new OrderItem("Item " + i,
+                    BigDecimal.valueOf(random.nextLong(1, 100_000), 2),
+                    random.nextInt(1, 20)));
+        }
+
+        return Order.builder()
+                .id(UUID.randomUUID().toString())
+                .externalId(externalId)
+                .status(OrderStatus.RECEIVED)
+                .createdAt(LocalDateTime.now())
+                .traceId(UUID.randomUUID().toString())
+                .items(items)
+                .build();
+    }
+}
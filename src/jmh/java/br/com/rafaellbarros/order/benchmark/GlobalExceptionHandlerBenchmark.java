@@ -0,0 +1,60 @@
+package br.com.rafaellbarros.order.benchmark;
+
+import br.com.rafaellbarros.order.config.exception.GlobalExceptionHandler;
+import br.com.rafaellbarros.order.controller.OrderController;
+import br.com.rafaellbarros.order.domain.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cada benchmark cria a exceção, como acontece numa requisição real, e passa pelo handler correspondente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MethodParameter createOrderParameter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        createOrderParameter = new MethodParameter(
+                OrderController.class.getMethod("createOrder", Order.class), 0);
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> responseStatus() {
+        return handler.handleResponseStatusException(
+                new ResponseStatusException(HttpStatus.CONFLICT, "Pedido duplicado externalId: ext-1"));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> validation() {
+        final var bindingResult = new BeanPropertyBindingResult(new Order(), "order");
+        bindingResult.rejectValue("externalId", "NotBlank", "ExternalId é obrigatório");
+        bindingResult.rejectValue("items", "NotEmpty", "Lista de itens não pode estar vazia");
+        return handler.handleValidationExceptions(
+                new MethodArgumentNotValidException(createOrderParameter, bindingResult));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, Object>> generic() {
+        return handler.handleGenericException(new IllegalStateException("Falha inesperada"));
+    }
+}
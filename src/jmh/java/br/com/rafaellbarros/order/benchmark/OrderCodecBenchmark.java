@@ -0,0 +1,117 @@
+package br.com.rafaellbarros.order.benchmark;
+
+import br.com.rafaellbarros.order.domain.Order;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma página de {@value #ORDERS} pedidos, como em /by-status e /batch, em cada formato negociável. O tempo é
+ * por pedido; os bytes por pedido de cada formato saem como métrica secundária {@code bytesPerOrder} de
+ * {@code serialize}, no resultado do JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderCodecBenchmark {
+
+    private static final int ORDERS = 100;
+    private static final TypeReference<List<Order>> ORDER_LIST = new TypeReference<>() {
+    };
+
+    public enum Format {
+        JSON_INDENTED, JSON, CBOR, SMILE
+    }
+
+    @Param({"JSON_INDENTED", "JSON", "CBOR", "SMILE"})
+    private Format format;
+
+    @Param({"1", "10"})
+    private int itemsPerOrder;
+
+    private ObjectMapper objectMapper;
+    private List<Order> orders;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = mapper(format);
+        orders = BenchmarkOrders.orders(ORDERS, itemsPerOrder);
+        encoded = objectMapper.writeValueAsBytes(orders);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public byte[] serialize(final WireSize wireSize) throws IOException {
+        final var bytes = objectMapper.writeValueAsBytes(orders);
+        wireSize.publish(bytes.length);
+        return bytes;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ORDERS)
+    public List<Order> deserialize() throws IOException {
+        return objectMapper.readValue(encoded, ORDER_LIST);
+    }
+
+    /**
+     * Contador auxiliar com os bytes por pedido. O JMH soma contadores EVENTS entre iterações e threads, então
+     * o valor é publicado uma única vez, na primeira iteração de medição: com uma thread, a soma é o tamanho.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+
+        public long bytesPerOrder;
+
+        private boolean measuring;
+        private boolean published;
+
+        @Setup(Level.Iteration)
+        public void reset(final IterationParams iteration) {
+            bytesPerOrder = 0;
+            measuring = iteration.getType() == IterationType.MEASUREMENT;
+        }
+
+        void publish(final int bytes) {
+            if (measuring && !published) {
+                bytesPerOrder = bytes / ORDERS;
+                published = true;
+            }
+        }
+    }
+
+    /**
+     * Mesma montagem do BinaryFormatsConfig: o builder do Spring com a fábrica de cada formato.
+     */
+    private static ObjectMapper mapper(final Format format) {
+        final var builder = Jackson2ObjectMapperBuilder.json();
+        return switch (format) {
+            case JSON_INDENTED -> builder.featuresToEnable(SerializationFeature.INDENT_OUTPUT).build();
+            case JSON -> builder.factory(new JsonFactory()).build();
+            case CBOR -> builder.factory(new CBORFactory()).build();
+            case SMILE -> builder.factory(new SmileFactory()).build();
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.rafaellbarros.order.benchmark;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.factory.OrderFactory;
+import br.com.rafaellbarros.order.logger.LogSampler;
+import br.com.rafaellbarros.order.logger.OrderLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderFactoryBenchmark {
+
+    private OrderFactory factory;
+    private Order request;
+
+    @Setup
+    public void setUp() {
+        factory = new OrderFactory(new OrderLogger(new LogSampler(new OrderProperties())));
+        request = BenchmarkOrders.order("ext-1", 10);
+    }
+
+    @Benchmark
+    public Order createFrom() {
+        return factory.createFrom(request);
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.rafaellbarros.order.benchmark;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.logger.LogSampler;
+import br.com.rafaellbarros.order.logger.OrderProcessorLogger;
+import br.com.rafaellbarros.order.service.OrderProcessorService;
+import br.com.rafaellbarros.order.service.ProcessingEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bloco de pedidos processado por {@link OrderProcessorService#processOrders}, variando o número de itens
+ * por pedido e o motor de processamento. {@code singleOrder} isola o cálculo do total de um pedido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderProcessorBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int itemsPerOrder;
+
+    @Param({"100"})
+    private int ordersPerChunk;
+
+    @Param({"SEQUENTIAL", "FORK_JOIN", "VIRTUAL_THREADS"})
+    private ProcessingEngine engine;
+
+    private OrderProcessorService service;
+    private List<Order> chunk;
+    private List<Order> single;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final var properties = new OrderProperties();
+        properties.getProcessor().setEngine(engine);
+        service = new OrderProcessorService(new SimpleMeterRegistry(), new OrderProcessorLogger(new LogSampler(new OrderProperties())), properties);
+        chunk = BenchmarkOrders.orders(ordersPerChunk, itemsPerOrder);
+        single = List.of(BenchmarkOrders.order("ext-single", itemsPerOrder));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public List<Order> processChunk() {
+        return service.processOrders(chunk);
+    }
+
+    @Benchmark
+    public List<Order> singleOrder() {
+        return service.processOrders(single);
+    }
+}
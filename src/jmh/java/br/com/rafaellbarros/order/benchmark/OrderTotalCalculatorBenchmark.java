@@ -0,0 +1,45 @@
+package br.com.rafaellbarros.order.benchmark;
+
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.service.OrderTotalCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho rápido em {@code long} contra a referência em BigDecimal para o mesmo pedido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderTotalCalculatorBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    private int itemsPerOrder;
+
+    private List<OrderItem> items;
+
+    @Setup
+    public void setUp() {
+        items = BenchmarkOrders.order("ext-1", itemsPerOrder).getItems();
+    }
+
+    @Benchmark
+    public BigDecimal scaledLong() {
+        return OrderTotalCalculator.calculate(items);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        return OrderTotalCalculator.calculateWithBigDecimal(items);
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.rafaellbarros.order.admission;
+
+import br.com.rafaellbarros.order.config.mongo.MongoLatencyTracker;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.processor.OrderProcessingMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições de ingestão simultâneas ajustado por AIMD: a cada {@code adjust-interval}, se a
+ * latência média do Mongo passou do alvo ou o backlog RECEIVED passou do limite, o limite cai 10%; caso
+ * contrário sobe 1, sempre entre {@code min-limit} e {@code max-limit}.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final OrderProperties.Concurrency settings;
+    private final MongoLatencyTracker mongoLatency;
+    private final OrderProcessingMetrics processingMetrics;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(OrderProperties properties, MongoLatencyTracker mongoLatency,
+                                      OrderProcessingMetrics processingMetrics, MeterRegistry meterRegistry) {
+        this.settings = properties.getAdmission().getConcurrency();
+        this.mongoLatency = mongoLatency;
+        this.processingMetrics = processingMetrics;
+        this.limit = clamp(settings.getInitialLimit());
+        this.rejected = Counter.builder("order_admission_rejected_total")
+                .tag("reason", "concurrency")
+                .register(meterRegistry);
+        Gauge.builder("order_admission_concurrency_limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Limite atual de requisições de ingestão simultâneas")
+                .register(meterRegistry);
+        Gauge.builder("order_admission_in_flight", inFlight, AtomicInteger::get)
+                .description("Requisições de ingestão em andamento")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${order.admission.concurrency.adjust-interval:1s}")
+    public void adjust() {
+        final var latencyExceeded = mongoLatency.averageNanos() > settings.getLatencyTarget().toNanos();
+        final var backlog = processingMetrics.backlog().received();
+        final var backlogExceeded = settings.getBacklogLimit() > 0 && backlog > settings.getBacklogLimit();
+
+        limit = latencyExceeded || backlogExceeded
+                ? clamp((int) (limit * DECREASE_FACTOR))
+                : clamp(limit + 1);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    private int clamp(final int value) {
+        return Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), value));
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.rafaellbarros.order.admission;
+
+import br.com.rafaellbarros.order.config.exception.TooManyRequestsException;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Recusa com 429 as ingestões acima do limite do cliente ou da capacidade atual, antes de qualquer
+ * leitura do corpo ou acesso ao Mongo. A vaga de concorrência é devolvida ao final da requisição.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final ClientRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final OrderProperties properties;
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+
+        final var admission = properties.getAdmission();
+        if (admission.getRateLimit().isEnabled()) {
+            final var wait = rateLimiter.tryAcquire(clientKey(request));
+            if (!wait.isZero()) {
+                throw new TooManyRequestsException("Limite de requisições excedido para o cliente", wait);
+            }
+        }
+
+        if (admission.getConcurrency().isEnabled()) {
+            if (!concurrencyLimiter.tryAcquire()) {
+                throw new TooManyRequestsException("Serviço sobrecarregado, tente novamente",
+                        admission.getConcurrency().getRetryAfter());
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(final HttpServletRequest request, final HttpServletResponse response,
+                                final Object handler, final Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            concurrencyLimiter.release();
+        }
+    }
+
+    private String clientKey(final HttpServletRequest request) {
+        final var client = request.getHeader(properties.getAdmission().getRateLimit().getClientHeader());
+        return StringUtils.hasText(client) ? client : request.getRemoteAddr();
+    }
+}
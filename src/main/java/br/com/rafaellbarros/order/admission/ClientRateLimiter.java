@@ -0,0 +1,74 @@
+package br.com.rafaellbarros.order.admission;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Um token bucket por cliente, com {@code requests-per-second} de reposição e capacidade {@code burst}.
+ * Os baldes ficam num cache limitado; um cliente descartado volta com o balde cheio.
+ */
+@Component
+public class ClientRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final double tokensPerNano;
+    private final double capacity;
+    private final Counter rejected;
+
+    public ClientRateLimiter(OrderProperties properties, MeterRegistry meterRegistry) {
+        final var settings = properties.getAdmission().getRateLimit();
+        this.tokensPerNano = settings.getRequestsPerSecond() / 1e9;
+        this.capacity = Math.max(1, settings.getBurst());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(settings.getMaxClients())
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.rejected = Counter.builder("order_admission_rejected_total")
+                .tag("reason", "rate_limit")
+                .register(meterRegistry);
+        Gauge.builder("order_admission_rate_limit_clients", buckets, Cache::estimatedSize)
+                .description("Clientes com token bucket em memória")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return {@link Duration#ZERO} se a requisição foi aceita, senão o tempo até o próximo token
+     */
+    public Duration tryAcquire(final String client) {
+        final long waitNanos = buckets.get(client, key -> new TokenBucket(capacity, System.nanoTime()))
+                .tryAcquire(System.nanoTime(), tokensPerNano, capacity);
+        if (waitNanos > 0) {
+            rejected.increment();
+            return Duration.ofNanos(waitNanos);
+        }
+        return Duration.ZERO;
+    }
+
+    private static final class TokenBucket {
+
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(final double tokens, final long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        private synchronized long tryAcquire(final long now, final double tokensPerNano, final double capacity) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return tokensPerNano <= 0 ? Long.MAX_VALUE : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
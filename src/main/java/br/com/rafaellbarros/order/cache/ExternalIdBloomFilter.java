@@ -0,0 +1,134 @@
+package br.com.rafaellbarros.order.cache;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom dos externalIds conhecidos, usado só para evitar consultas de duplicidade: "não contém"
+ * dispensa a ida ao Mongo, "pode conter" cai na consulta real. Até a carga inicial terminar (ou se ela
+ * falhar) tudo é respondido como "pode conter".
+ * <p>
+ * Pedidos inseridos por outra réplica não entram neste filtro; o índice único de externalId continua sendo
+ * a garantia contra duplicados, o filtro apenas economiza consultas.
+ */
+@Component
+public class ExternalIdBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final AtomicLong bitsSet = new AtomicLong();
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter falsePositives;
+
+    private volatile boolean ready;
+
+    public ExternalIdBloomFilter(OrderProperties properties, MeterRegistry meterRegistry) {
+        final var settings = properties.getBloomFilter();
+        final long expected = Math.max(1, settings.getExpectedInsertions());
+        final double fpp = settings.getFalsePositiveRate();
+
+        this.bitCount = Math.max(64, (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+        this.words = new AtomicLongArray(Math.toIntExact((bitCount + 63) / 64));
+
+        Gauge.builder("order_externalid_bloom_fill_ratio", this, ExternalIdBloomFilter::fillRatio)
+                .description("Fração dos bits do filtro de Bloom já marcados")
+                .register(meterRegistry);
+        Gauge.builder("order_externalid_bloom_false_positive_rate", this, ExternalIdBloomFilter::expectedFalsePositiveRate)
+                .description("Taxa de falso positivo estimada pelo preenchimento atual")
+                .register(meterRegistry);
+        this.negatives = Counter.builder("order_externalid_bloom_checks_total").tag("result", "negative").register(meterRegistry);
+        this.positives = Counter.builder("order_externalid_bloom_checks_total").tag("result", "positive").register(meterRegistry);
+        this.falsePositives = Counter.builder("order_externalid_bloom_false_positives_total").register(meterRegistry);
+    }
+
+    public void put(final String externalId) {
+        if (externalId == null) {
+            return;
+        }
+
+        final long h1 = hash(externalId);
+        final long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bitCount);
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            final long previous = words.getAndAccumulate(word, mask, (current, m) -> current | m);
+            if ((previous & mask) == 0) {
+                bitsSet.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * @return {@code false} apenas quando o externalId com certeza não foi visto por esta instância
+     */
+    public boolean mightContain(final String externalId) {
+        if (!ready || externalId == null) {
+            return true;
+        }
+
+        final long h1 = hash(externalId);
+        final long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashFunctions; i++) {
+            final long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                negatives.increment();
+                return false;
+            }
+        }
+        positives.increment();
+        return true;
+    }
+
+    /**
+     * Registra quantos "pode conter" a consulta real mostrou que não existiam.
+     */
+    public void recordFalsePositives(final long count) {
+        if (ready && count > 0) {
+            falsePositives.increment(count);
+        }
+    }
+
+    public void markReady() {
+        this.ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    double fillRatio() {
+        return (double) bitsSet.get() / bitCount;
+    }
+
+    double expectedFalsePositiveRate() {
+        return Math.pow(fillRatio(), hashFunctions);
+    }
+
+    private static long hash(final String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
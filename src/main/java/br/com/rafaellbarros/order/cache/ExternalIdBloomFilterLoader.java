@@ -0,0 +1,48 @@
+package br.com.rafaellbarros.order.cache;
+
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * Carrega o filtro de Bloom em segundo plano percorrendo as coleções orders e orders_archive. Inserções feitas enquanto a
+ * carga roda também entram no filtro, então ele só é liberado ao final sem perder nada.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.bloom-filter", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ExternalIdBloomFilterLoader {
+
+    private final ExternalIdBloomFilter filter;
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderMaintenanceLogger logger;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread.ofPlatform().daemon().name("externalid-bloom-loader").start(this::load);
+    }
+
+    void load() {
+        final long start = System.nanoTime();
+        try (var externalIds = Stream.concat(orderRepository.streamExternalIds(),
+                orderArchiveRepository.streamExternalIds())) {
+            final long[] count = {0};
+            externalIds.forEach(externalId -> {
+                filter.put(externalId);
+                count[0]++;
+            });
+            filter.markReady();
+            logger.bloomFilterLoaded(count[0], (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException ex) {
+            logger.bloomFilterLoadFailed(ex);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package br.com.rafaellbarros.order.cache;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Cache limitado dos pedidos por externalId. Só guarda pedidos em status terminal, que não mudam mais;
+ * pedidos ainda em processamento sempre vão ao Mongo. Buscas concorrentes pela mesma chave que não
+ * estão no cache compartilham uma única consulta.
+ */
+@Component
+public class OrderCache {
+
+    public static final String NAME = "orders_by_external_id";
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES = EnumSet.of(OrderStatus.CALCULATED, OrderStatus.FAILED);
+
+    private final Cache<String, Order> cache;
+    private final ConcurrentMap<String, CompletableFuture<Optional<Order>>> inFlight = new ConcurrentHashMap<>();
+
+    public OrderCache(OrderProperties properties, MeterRegistry meterRegistry) {
+        final var settings = properties.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getTimeToLive())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public Optional<Order> get(final String externalId, final Supplier<Optional<Order>> loader) {
+        final var cached = cache.getIfPresent(externalId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        final var load = new CompletableFuture<Optional<Order>>();
+        final var running = inFlight.putIfAbsent(externalId, load);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            final var order = loader.get();
+            order.filter(o -> TERMINAL_STATUSES.contains(o.getStatus()))
+                    .ifPresent(o -> cache.put(externalId, o));
+            load.complete(order);
+            return order;
+        } catch (RuntimeException ex) {
+            load.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(externalId, load);
+        }
+    }
+
+    public void evict(final Collection<String> externalIds) {
+        cache.invalidateAll(externalIds);
+    }
+
+    private static Optional<Order> await(final CompletableFuture<Optional<Order>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.rafaellbarros.order.config.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Requisição recusada pelo controle de admissão; {@link #getRetryAfter()} vira o header Retry-After.
+ */
+@Getter
+public class TooManyRequestsException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(final String reason, final Duration retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS, reason);
+        this.retryAfter = retryAfter;
+    }
+}
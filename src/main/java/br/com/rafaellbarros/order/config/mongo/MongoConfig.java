@@ -0,0 +1,15 @@
+package br.com.rafaellbarros.order.config.mongo;
+
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoQueryInspectorCustomizer(final MongoQueryInspector inspector) {
+        return settings -> settings.addCommandListener(inspector);
+    }
+
+}
@@ -0,0 +1,58 @@
+package br.com.rafaellbarros.order.config.mongo;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Média móvel exponencial da duração dos comandos Mongo do caminho de ingestão, alimentada pelo
+ * {@link MongoQueryInspector}. A média também decai com o tempo, com meia-vida de {@link #HALF_LIFE}: sem
+ * comandos ela tende a zero em vez de guardar para sempre a latência do último pico.
+ */
+@Component
+public class MongoLatencyTracker {
+
+    private static final double ALPHA = 0.2;
+    private static final Duration HALF_LIFE = Duration.ofSeconds(10);
+
+    private final AtomicReference<Sample> average;
+    private final LongSupplier clock;
+
+    @Autowired
+    public MongoLatencyTracker(MeterRegistry meterRegistry) {
+        this(meterRegistry, System::nanoTime);
+    }
+
+    MongoLatencyTracker(MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clock = clock;
+        this.average = new AtomicReference<>(new Sample(0, clock.getAsLong()));
+        Gauge.builder("mongodb_command_latency_ewma_seconds", this, tracker -> tracker.averageNanos() / 1e9)
+                .description("Média móvel da duração dos comandos Mongo de ingestão em orders")
+                .register(meterRegistry);
+    }
+
+    public void record(final long nanos) {
+        final long now = clock.getAsLong();
+        average.updateAndGet(previous -> {
+            final double decayed = previous.decayedTo(now);
+            return new Sample(decayed == 0 ? nanos : decayed + ALPHA * (nanos - decayed), now);
+        });
+    }
+
+    public double averageNanos() {
+        return average.get().decayedTo(clock.getAsLong());
+    }
+
+    private record Sample(double nanos, long at) {
+
+        double decayedTo(final long now) {
+            final long elapsed = now - at;
+            return elapsed <= 0 ? nanos : nanos * Math.pow(0.5, (double) elapsed / HALF_LIFE.toNanos());
+        }
+    }
+}
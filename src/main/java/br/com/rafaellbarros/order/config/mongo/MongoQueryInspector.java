@@ -0,0 +1,239 @@
+package br.com.rafaellbarros.order.config.mongo;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.logger.MongoQueryLogger;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Observa os comandos enviados ao Mongo. Comandos acima do limite configurado são contados em
+ * {@code mongodb_slow_commands_total}; na primeira vez que um formato de filtro aparece roda-se um explain em
+ * segundo plano e, se o plano vencedor for COLLSCAN, toda execução desse formato conta em
+ * {@code mongodb_collscan_commands_total}. A duração de insert, find e update em orders, os comandos do caminho
+ * de ingestão, alimenta o {@link MongoLatencyTracker}; agregações, getMore e os demais jobs ficam de fora.
+ */
+@Component
+public class MongoQueryInspector implements CommandListener {
+
+    private static final Set<String> EXPLAINABLE = Set.of("find", "count", "update", "delete");
+    private static final Set<String> STATEMENT_FIELDS = Set.of("updates", "deletes");
+    private static final Set<String> INGEST_COMMANDS = Set.of("insert", "find", "update");
+    private static final String INGEST_COLLECTION = "orders";
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+    private final MeterRegistry meterRegistry;
+    private final MongoQueryLogger logger;
+    private final MongoLatencyTracker latencyTracker;
+    private final OrderProperties.Mongo settings;
+
+    private final ConcurrentMap<Integer, StartedCommand> running = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Boolean> collectionScans = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainer;
+
+    public MongoQueryInspector(ObjectProvider<MongoTemplate> mongoTemplate, MeterRegistry meterRegistry,
+                               MongoQueryLogger logger, MongoLatencyTracker latencyTracker,
+                               OrderProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+        this.logger = logger;
+        this.latencyTracker = latencyTracker;
+        this.settings = properties.getMongo();
+        this.explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100),
+                Thread.ofPlatform().daemon().name("mongo-explain").factory(),
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @Override
+    public void commandStarted(final CommandStartedEvent event) {
+        final var command = event.getCommand();
+        final var collection = collection(event.getCommandName(), command);
+        if (collection == null) {
+            return;
+        }
+
+        final var shape = EXPLAINABLE.contains(event.getCommandName()) ? shape(event.getCommandName(), command) : null;
+        running.put(event.getRequestId(), new StartedCommand(collection, shape));
+
+        if (shape != null && settings.isExplainEnabled() && shouldExplain(collection, shape)) {
+            final var explain = explainCommand(command);
+            explainer.execute(() -> explain(event.getCommandName(), collection, shape, explain));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(final CommandSucceededEvent event) {
+        final var started = running.remove(event.getRequestId());
+        if (started == null) {
+            return;
+        }
+
+        if (INGEST_COLLECTION.equals(started.collection()) && INGEST_COMMANDS.contains(event.getCommandName())) {
+            latencyTracker.record(event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+
+        final var millis = event.getElapsedTime(TimeUnit.MILLISECONDS);
+        if (millis >= settings.getSlowCommandThreshold().toMillis()) {
+            counter("mongodb_slow_commands_total", event.getCommandName(), started.collection()).increment();
+            logger.slowCommand(event.getCommandName(), started.collection(), millis, started.shape());
+        }
+
+        if (started.shape() != null
+                && Boolean.TRUE.equals(collectionScans.get(key(started.collection(), started.shape())))) {
+            counter("mongodb_collscan_commands_total", event.getCommandName(), started.collection()).increment();
+        }
+    }
+
+    @Override
+    public void commandFailed(final CommandFailedEvent event) {
+        running.remove(event.getRequestId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        explainer.shutdownNow();
+    }
+
+    private boolean shouldExplain(final String collection, final String shape) {
+        if (collectionScans.size() >= settings.getMaxExplainedShapes()) {
+            return false;
+        }
+        return collectionScans.putIfAbsent(key(collection, shape), Boolean.FALSE) == null;
+    }
+
+    private void explain(final String commandName, final String collection, final String shape,
+                         final BsonDocument command) {
+        try {
+            final var plan = mongoTemplate.getObject().getDb()
+                    .runCommand(new BsonDocument("explain", command).append("verbosity", new BsonString("queryPlanner")));
+            if (hasCollectionScan(plan.get("queryPlanner"))) {
+                collectionScans.put(key(collection, shape), Boolean.TRUE);
+                logger.collectionScan(commandName, collection, shape);
+            }
+        } catch (RuntimeException ex) {
+            logger.explainFailed(collection, ex);
+        }
+    }
+
+    private Counter counter(final String name, final String command, final String collection) {
+        return Counter.builder(name)
+                .tag("command", command)
+                .tag("collection", collection)
+                .register(meterRegistry);
+    }
+
+    private static String collection(final String commandName, final BsonDocument command) {
+        final var value = command.get(commandName);
+        return value != null && value.isString() ? value.asString().getValue() : null;
+    }
+
+    /**
+     * Formato do filtro com os valores trocados por 1, para que consultas iguais com parâmetros diferentes
+     * sejam explicadas uma única vez.
+     */
+    private static String shape(final String commandName, final BsonDocument command) {
+        final var filter = switch (commandName) {
+            case "find" -> command.get("filter");
+            case "count" -> command.get("query");
+            case "update" -> firstStatement(command, "updates");
+            case "delete" -> firstStatement(command, "deletes");
+            default -> null;
+        };
+        final var sort = command.get("sort");
+        return normalize(filter == null ? new BsonDocument() : filter).toString()
+                + (sort == null ? "" : " sort " + sort);
+    }
+
+    private static BsonValue firstStatement(final BsonDocument command, final String field) {
+        final var statements = command.get(field);
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) {
+            return null;
+        }
+        return statements.asArray().get(0).asDocument().get("q");
+    }
+
+    private static BsonValue normalize(final BsonValue value) {
+        if (value.isDocument()) {
+            final var normalized = new BsonDocument();
+            value.asDocument().forEach((key, child) -> normalized.append(key, normalizeOperand(key, child)));
+            return normalized;
+        }
+        if (value.isArray()) {
+            final var normalized = new BsonArray();
+            value.asArray().stream()
+                    .filter(child -> child.isDocument() || child.isArray())
+                    .map(MongoQueryInspector::normalize)
+                    .distinct()
+                    .forEach(normalized::add);
+            return normalized;
+        }
+        return new BsonInt32(1);
+    }
+
+    private static BsonValue normalizeOperand(final String key, final BsonValue value) {
+        if (key.equals("$in") || key.equals("$nin")) {
+            return new BsonInt32(1);
+        }
+        return normalize(value);
+    }
+
+    /**
+     * Cópia do comando sem os campos que o driver adiciona por sessão; explain aceita uma única instrução
+     * em update/delete.
+     */
+    private static BsonDocument explainCommand(final BsonDocument command) {
+        final var copy = new BsonDocument();
+        for (Map.Entry<String, BsonValue> entry : command.entrySet()) {
+            final var key = entry.getKey();
+            if (key.startsWith("$") || key.equals("lsid") || key.equals("txnNumber")) {
+                continue;
+            }
+            if (STATEMENT_FIELDS.contains(key) && entry.getValue().isArray()) {
+                copy.append(key, new BsonArray(List.of(entry.getValue().asArray().get(0).asDocument().clone())));
+            } else {
+                copy.append(key, entry.getValue().clone());
+            }
+        }
+        return copy;
+    }
+
+    private static boolean hasCollectionScan(final Object node) {
+        if (node instanceof Document document) {
+            return "COLLSCAN".equals(document.get("stage"))
+                    || document.values().stream().anyMatch(MongoQueryInspector::hasCollectionScan);
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(MongoQueryInspector::hasCollectionScan);
+        }
+        return false;
+    }
+
+    private static String key(final String collection, final String shape) {
+        return collection + ' ' + shape;
+    }
+
+    private record StartedCommand(String collection, String shape) {
+    }
+}
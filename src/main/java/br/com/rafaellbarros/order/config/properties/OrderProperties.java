@@ -0,0 +1,336 @@
+package br.com.rafaellbarros.order.config.properties;
+
+import br.com.rafaellbarros.order.domain.ItemPersistence;
+import br.com.rafaellbarros.order.service.ProcessingEngine;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "order")
+public class OrderProperties {
+
+    private Create create = new Create();
+    private Batch batch = new Batch();
+    private Processor processor = new Processor();
+    private Items items = new Items();
+    private Query query = new Query();
+    private Cache cache = new Cache();
+    private Mongo mongo = new Mongo();
+    private Logging logging = new Logging();
+    private Reactive reactive = new Reactive();
+    private BloomFilter bloomFilter = new BloomFilter();
+    private Admission admission = new Admission();
+    private Rollups rollups = new Rollups();
+    private Stats stats = new Stats();
+    private Archive archive = new Archive();
+
+    @Data
+    public static class Create {
+
+        /**
+         * Insere o pedido direto e deixa o índice único de externalId rejeitar duplicados,
+         * evitando a consulta prévia por externalId.
+         */
+        private boolean insertFirst = true;
+
+        private Coalescing coalescing = new Coalescing();
+    }
+
+    @Data
+    public static class Coalescing {
+
+        /**
+         * Agrupa criações individuais concorrentes em uma única inserção bulk.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Tempo máximo que o primeiro pedido do grupo espera por outros.
+         */
+        private Duration window = Duration.ofMillis(5);
+
+        private int maxBatch = 100;
+
+        /**
+         * Pedidos aguardando grupo; com a fila cheia o pedido é criado sozinho.
+         */
+        private int queueCapacity = 10_000;
+    }
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Quantidade de pedidos por consulta de duplicados e por inserção bulk.
+         */
+        private int chunkSize = 1000;
+    }
+
+    @Data
+    public static class Processor {
+
+        /**
+         * Quantidade de pedidos lidos do cursor, calculados e gravados de cada vez.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Como os pedidos de um bloco são calculados: na thread do agendador, em um ForkJoinPool
+         * dedicado ou em virtual threads.
+         */
+        private ProcessingEngine engine = ProcessingEngine.FORK_JOIN;
+
+        /**
+         * Número máximo de pedidos calculados ao mesmo tempo nos modos paralelos.
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Identifica esta instância como dona dos pedidos que reivindicar.
+         */
+        private String instanceId = ManagementFactory.getRuntimeMXBean().getName();
+
+        /**
+         * Tempo que um bloco reivindicado fica reservado; depois disso outra instância pode retomá-lo.
+         */
+        private Duration leaseDuration = Duration.ofMinutes(5);
+
+        private Queue queue = new Queue();
+
+        private Backlog backlog = new Backlog();
+    }
+
+    @Data
+    public static class Backlog {
+
+        /**
+         * Intervalo entre as amostras do backlog RECEIVED; as métricas leem o valor amostrado, sem consultar
+         * o Mongo a cada scrape.
+         */
+        private Duration sampleInterval = Duration.ofSeconds(15);
+
+        /**
+         * Idade do RECEIVED mais antigo a partir da qual o endpoint orderprocessor indica atraso.
+         */
+        private Duration maxAge = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Queue {
+
+        /**
+         * Calcula os pedidos logo após a criação; o agendamento continua como varredura de segurança.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Ids de pedidos que podem aguardar na fila; o excedente fica para a varredura agendada.
+         */
+        private int capacity = 10_000;
+
+        private int workers = 2;
+    }
+
+    @Data
+    public static class Items {
+
+        private ItemPersistence persistence = ItemPersistence.EMBEDDED;
+
+        /**
+         * Quantidade de itens de order_items verificados por consulta na limpeza de órfãos.
+         */
+        private int cleanupPageSize = 1000;
+    }
+
+    @Data
+    public static class Query {
+
+        private int defaultPageSize = 100;
+
+        private int maxPageSize = 1000;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Quantidade máxima de pedidos no cache de consulta por externalId.
+         */
+        private long maximumSize = 10_000;
+
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Mongo {
+
+        /**
+         * Comandos acima deste tempo são contados e logados como lentos.
+         */
+        private Duration slowCommandThreshold = Duration.ofMillis(100);
+
+        /**
+         * Roda explain, em segundo plano, na primeira execução de cada formato de filtro para detectar COLLSCAN.
+         */
+        private boolean explainEnabled = true;
+
+        private int maxExplainedShapes = 1000;
+    }
+
+    @Data
+    public static class Logging {
+
+        /**
+         * Fração dos eventos de log por pedido (criado, salvo, processado) que é emitida: 1.0 = todos.
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Limite de eventos por pedido emitidos por segundo, depois da amostragem; 0 = sem limite.
+         */
+        private long maxPerSecond = 100;
+    }
+
+    @Data
+    public static class Reactive {
+
+        /**
+         * Sobe a API v2 (WebFlux + driver reativo) em porta própria. Desligada por padrão, para que nenhum
+         * contexto abra a porta sem pedir.
+         */
+        private boolean enabled = false;
+
+        private int port = 8083;
+
+        /**
+         * Inserções simultâneas por lote na v2.
+         */
+        private int concurrency = 16;
+    }
+
+    @Data
+    public static class BloomFilter {
+
+        /**
+         * Carrega o filtro de externalIds na subida; desligado, toda verificação de duplicidade vai ao Mongo.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Quantidade de pedidos usada para dimensionar o filtro; acima dela a taxa de falso positivo cresce.
+         */
+        private long expectedInsertions = 1_000_000;
+
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Data
+    public static class Admission {
+
+        /**
+         * Controle de admissão nos POST de /v1/orders e /v1/orders/batch.
+         */
+        private boolean enabled = true;
+
+        private RateLimit rateLimit = new RateLimit();
+        private Concurrency concurrency = new Concurrency();
+    }
+
+    @Data
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        /**
+         * Header que identifica o cliente; sem ele, o limite é pelo endereço remoto.
+         */
+        private String clientHeader = "X-Client-Id";
+
+        private double requestsPerSecond = 100;
+
+        private int burst = 200;
+
+        /**
+         * Quantidade máxima de clientes com balde em memória; os menos usados são descartados.
+         */
+        private long maxClients = 10_000;
+    }
+
+    @Data
+    public static class Concurrency {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 64;
+
+        private int minLimit = 4;
+
+        private int maxLimit = 256;
+
+        /**
+         * Latência média dos comandos Mongo acima da qual o limite é reduzido.
+         */
+        private Duration latencyTarget = Duration.ofMillis(50);
+
+        /**
+         * Pedidos RECEIVED acima dos quais o limite é reduzido; 0 = ignora o backlog.
+         */
+        private long backlogLimit = 100_000;
+
+        private Duration adjustInterval = Duration.ofSeconds(1);
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Rollups {
+
+        /**
+         * Maior período, em dias, aceito pelo relatório.
+         */
+        private int maxRangeDays = 366;
+    }
+
+    @Data
+    public static class Stats {
+
+        /**
+         * Intervalo entre as reconciliações dos contadores por status com countByStatus.
+         */
+        private Duration reconcileInterval = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class Archive {
+
+        /**
+         * Liga o job que move pedidos CALCULATED e FAILED antigos de orders para orders_archive e a consulta
+         * ao arquivo na checagem de duplicados da criação. Não desligar com pedidos já arquivados: os
+         * externalIds deles voltariam a ser aceitos.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Idade mínima, pelo createdAt, para um pedido finalizado ser arquivado.
+         */
+        private Duration maxAge = Duration.ofDays(90);
+
+        /**
+         * Pedidos copiados e apagados por operação bulk.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Pausa entre os lotes, para não disputar o Mongo com a ingestão.
+         */
+        private Duration pause = Duration.ofMillis(200);
+
+        /**
+         * Lotes por execução; o restante fica para a próxima. 0 = sem limite.
+         */
+        private int maxBatchesPerRun = 200;
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.rafaellbarros.order.config.reactive;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.controller.OrderV2Handler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ContextPathCompositeHandler;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.util.Map;
+
+/**
+ * Servidor Reactor Netty da API v2, em porta própria ({@code order.reactive.port}) ao lado do Tomcat da v1.
+ * A aplicação continua sendo servlet; este servidor usa apenas o roteamento funcional do WebFlux e o mesmo
+ * context-path da v1.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "order.reactive", name = "enabled", havingValue = "true")
+public class OrderV2Server implements SmartLifecycle {
+
+    private final OrderV2Handler handler;
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final String contextPath;
+
+    private volatile DisposableServer server;
+
+    public OrderV2Server(OrderV2Handler handler, ObjectMapper objectMapper, OrderProperties properties,
+                         @Value("${server.servlet.context-path:}") String contextPath) {
+        this.handler = handler;
+        this.objectMapper = objectMapper;
+        this.port = properties.getReactive().getPort();
+        this.contextPath = contextPath;
+    }
+
+    static RouterFunction<ServerResponse> routes(final OrderV2Handler handler) {
+        return RouterFunctions.route()
+                .path("/v2/orders", builder -> builder
+                        .POST("/batch", handler::createOrders)
+                        .POST("", handler::createOrder)
+                        .GET("/external-id/{externalId}", handler::getOrderByExternalId)
+                        .GET("/by-status/{status}", handler::getOrdersByStatus))
+                .onError(ResponseStatusException.class, handler::handleResponseStatusException)
+                .build();
+    }
+
+    @Override
+    public void start() {
+        final var strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    // NDJSON exige um objeto por linha
+                    codecs.defaultCodecs().jackson2JsonEncoder(
+                            new Jackson2JsonEncoder(objectMapper.copy().disable(SerializationFeature.INDENT_OUTPUT)));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(routes(handler), strategies);
+        if (StringUtils.hasText(contextPath)) {
+            httpHandler = new ContextPathCompositeHandler(Map.of(contextPath, httpHandler));
+        }
+
+        server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("API v2 (reativa) ouvindo na porta {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.rafaellbarros.order.config.reactive;
+
+import br.com.rafaellbarros.order.repository.ReactiveOrderRepository;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Driver reativo do MongoDB, usado só pela API v2. As auto-configurações reativas do Boot ficam excluídas
+ * em {@link br.com.rafaellbarros.order.OrderApiApplication}: com a v2 desligada, nenhum segundo pool de
+ * conexões é aberto. O cliente parte das mesmas configurações do bloqueante ({@link MongoClientSettings} e
+ * customizers, inclusive o de {@code spring.data.mongodb.*} e o listener de comandos) e o template reaproveita
+ * o mesmo conversor.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "order.reactive", name = "enabled", havingValue = "true")
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveOrderRepository.class)
+public class ReactiveMongoConfig {
+
+    @Bean
+    public MongoClient reactiveMongoClient(final MongoClientSettings settings,
+                                           final ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        final var builder = MongoClientSettings.builder(settings);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        return MongoClients.create(builder.build());
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(final MongoClient reactiveMongoClient,
+                                                       final MongoProperties mongoProperties,
+                                                       final MongoConverter converter) {
+        return new ReactiveMongoTemplate(
+                new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient, mongoProperties.getMongoClientDatabase()),
+                converter);
+    }
+}
@@ -1,14 +1,31 @@
 package br.com.rafaellbarros.order.controller;
 
 import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.domain.OrderStats;
 import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.domain.OrderSummary;
+import br.com.rafaellbarros.order.service.OrderCreateCoalescer;
+import br.com.rafaellbarros.order.service.OrderExportService;
+import br.com.rafaellbarros.order.service.OrderIngestService;
 import br.com.rafaellbarros.order.service.OrderService;
+import br.com.rafaellbarros.order.service.OrderStatusCounters;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -16,35 +33,151 @@ import java.util.List;
 @RequestMapping("/v1/orders")
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String SUMMARY_MEDIA_TYPE = "application/vnd.order.summary+json";
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
     private final OrderService orderService;
+    private final OrderCreateCoalescer orderCreateCoalescer;
+    private final OrderIngestService orderIngestService;
+    private final OrderExportService orderExportService;
+    private final OrderStatusCounters orderStatusCounters;
 
     @PostMapping
     public ResponseEntity<Order> createOrder(final @RequestBody @Valid Order request) {
-        var createdOrder = orderService.createOrder(request);
+        var createdOrder = orderCreateCoalescer.createOrder(request);
         return ResponseEntity
                 .created(URI.create("/v1/orders/" + createdOrder.getId()))
                 .body(createdOrder);
     }
 
+    /**
+     * Os pedidos são validados um a um pelo serviço: um pedido inválido aparece como INVALID
+     * no resultado em vez de rejeitar o lote inteiro.
+     */
     @PostMapping("/batch")
-    public ResponseEntity<List<Order>> createOrders(@RequestBody @Valid List<Order> requests) {
-        List<Order> createdOrders = orderService.createOrders(requests);
+    public ResponseEntity<List<OrderCreationResult>> createOrders(@RequestBody List<Order> requests) {
+        List<OrderCreationResult> results = orderService.createOrders(requests);
         return ResponseEntity
                 .created(URI.create("/v1/orders/batch"))
-                .body(createdOrders);
+                .body(results);
+    }
+
+    /**
+     * Variante em NDJSON do lote: um pedido por linha na entrada e um resultado por linha na saída,
+     * gravados em blocos enquanto o corpo ainda está sendo recebido.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void ingestOrders(final InputStream body, final HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        orderIngestService.ingest(body, response.getOutputStream());
     }
 
 
+    /**
+     * A versão do pedido vai no ETag: com If-None-Match igual, o Spring responde 304 sem serializar o corpo.
+     */
     @GetMapping("/external-id/{externalId}")
-    public ResponseEntity<Order> getOrderByExternalId(@PathVariable String externalId) {
+    public ResponseEntity<Order> getOrderByExternalId(@PathVariable String externalId,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         return orderService.getOrderByExternalId(externalId)
-                .map(ResponseEntity::ok)
+                .map(order -> withETag(ResponseEntity.ok(), order, accept).body(order))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Devolve uma página de pedidos; o cursor da próxima página vem no header X-Next-Cursor
+     * e fica ausente na última.
+     */
     @GetMapping("/by-status/{status}")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable OrderStatus status,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit) {
+        var page = orderService.getOrdersByStatus(status, cursor, limit);
+        return withNextCursor(ResponseEntity.ok(), page.nextCursor())
+                .body(page.items());
+    }
+
+    /**
+     * Versão resumida da página, escolhida por {@code ?view=summary} ou pelo Accept
+     * {@value #SUMMARY_MEDIA_TYPE}: sem itens, traceId e processingMessage, que nem saem do Mongo.
+     */
+    @GetMapping(value = "/by-status/{status}", params = "view=summary")
+    public ResponseEntity<List<OrderSummary>> getOrderSummariesByStatus(@PathVariable OrderStatus status,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit) {
+        var page = orderService.getOrderSummariesByStatus(status, cursor, limit);
+        return withNextCursor(ResponseEntity.ok(), page.nextCursor())
+                .body(page.items());
+    }
+
+    @GetMapping(value = "/by-status/{status}", produces = SUMMARY_MEDIA_TYPE)
+    public ResponseEntity<List<OrderSummary>> getOrderSummariesByStatusForMediaType(@PathVariable OrderStatus status,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(required = false) Integer limit) {
+        return getOrderSummariesByStatus(status, cursor, limit);
+    }
+
+    @GetMapping(value = "/by-status/{status}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamOrdersByStatus(@PathVariable OrderStatus status, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        orderExportService.exportByStatus(status, response.getOutputStream());
+    }
+
+    /**
+     * Quantidade de pedidos por status, lida dos contadores em memória sem consultar o Mongo.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStats> getStats() {
+        return ResponseEntity.ok(orderStatusCounters.snapshot());
+    }
+
+    /**
+     * ETag fraco, porque o Tomcat não comprime respostas com ETag forte: o corpo comprimido não seria
+     * idêntico byte a byte ao validado. O formato entra no valor para que JSON, CBOR e Smile do mesmo
+     * pedido não compartilhem o mesmo ETag.
+     */
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, Order order, String accept) {
+        if (order.getVersion() == null) {
+            return builder;
+        }
+        return builder
+                .eTag("W/\"" + order.getId() + "-" + order.getVersion() + "-" + format(accept) + "\"")
+                .varyBy(HttpHeaders.ACCEPT);
+    }
+
+    /**
+     * O primeiro formato aceito, com o Accept ordenado por qualidade e especificidade como na negociação,
+     * ou JSON: o mesmo que a negociação escolhe depois para o corpo.
+     */
+    private static String format(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "json";
+        }
+        try {
+            final var mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(accept));
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    return "cbor";
+                }
+                if (mediaType.equalsTypeAndSubtype(SMILE)) {
+                    return "smile";
+                }
+                if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    return "json";
+                }
+            }
+        } catch (InvalidMediaTypeException | InvalidMimeTypeException ex) {
+            return "json";
+        }
+        return "json";
+    }
+
+    private static ResponseEntity.BodyBuilder withNextCursor(ResponseEntity.BodyBuilder builder, String nextCursor) {
+        return nextCursor == null ? builder : builder.header(NEXT_CURSOR_HEADER, nextCursor);
     }
 
 
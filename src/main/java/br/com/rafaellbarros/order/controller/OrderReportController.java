@@ -0,0 +1,36 @@
+package br.com.rafaellbarros.order.controller;
+
+import br.com.rafaellbarros.order.domain.OrderReport;
+import br.com.rafaellbarros.order.service.OrderRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/v1/reports")
+public class OrderReportController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    private final OrderRollupService orderRollupService;
+
+    /**
+     * Quantidade de pedidos, de itens e soma de totalAmount por dia e status, lidos de order_rollups.
+     * Sem datas, devolve os últimos 30 dias.
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<OrderReport> getDailyReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        final var end = to != null ? to : LocalDate.now();
+        final var start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        return ResponseEntity.ok(orderRollupService.report(start, end));
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.rafaellbarros.order.controller;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.service.ReactiveOrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Handlers da API v2. Lote e consulta por status aceitam e devolvem fluxos: JSON array ou NDJSON conforme
+ * os headers Content-Type e Accept, com a demanda do cliente controlando a leitura do Mongo.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.reactive", name = "enabled", havingValue = "true")
+public class OrderV2Handler {
+
+    private final ReactiveOrderService orderService;
+
+    public Mono<ServerResponse> createOrder(final ServerRequest request) {
+        return request.bodyToMono(Order.class)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pedido não pode ser nulo")))
+                .flatMap(orderService::createOrder)
+                .flatMap(order -> ServerResponse.created(URI.create("/v2/orders/" + order.getId()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(order));
+    }
+
+    public Mono<ServerResponse> createOrders(final ServerRequest request) {
+        final var results = orderService.createOrders(request.bodyToFlux(Order.class));
+        return ServerResponse.ok()
+                .contentType(responseType(request))
+                .body(results, OrderCreationResult.class);
+    }
+
+    public Mono<ServerResponse> getOrderByExternalId(final ServerRequest request) {
+        return orderService.getOrderByExternalId(request.pathVariable("externalId"))
+                .flatMap(order -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(order))
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> getOrdersByStatus(final ServerRequest request) {
+        final OrderStatus status;
+        try {
+            status = OrderStatus.valueOf(request.pathVariable("status"));
+        } catch (IllegalArgumentException ex) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Status inválido: " + request.pathVariable("status")));
+        }
+
+        return ServerResponse.ok()
+                .contentType(responseType(request))
+                .body(orderService.getOrdersByStatus(status), Order.class);
+    }
+
+    /**
+     * Mesmo corpo de erro do {@code GlobalExceptionHandler} da v1.
+     */
+    public Mono<ServerResponse> handleResponseStatusException(final Throwable throwable, final ServerRequest request) {
+        final var ex = (ResponseStatusException) throwable;
+        final var status = HttpStatus.resolve(ex.getStatusCode().value());
+
+        final Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", ex.getStatusCode().value());
+        body.put("error", status != null ? status.getReasonPhrase() : "Erro");
+        body.put("message", ex.getReason());
+
+        return ServerResponse.status(ex.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body);
+    }
+
+    private static MediaType responseType(final ServerRequest request) {
+        return request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+    }
+}
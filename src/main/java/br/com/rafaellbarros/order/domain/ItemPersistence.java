@@ -0,0 +1,11 @@
+package br.com.rafaellbarros.order.domain;
+
+/**
+ * Onde os itens de um pedido são gravados.
+ */
+public enum ItemPersistence {
+    /** Apenas embutidos no documento do pedido. */
+    EMBEDDED,
+    /** Embutidos no pedido e copiados para order_items em uma inserção bulk, depois que o pedido é gravado. */
+    COLLECTION
+}
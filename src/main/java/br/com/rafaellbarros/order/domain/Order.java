@@ -1,5 +1,6 @@
 package br.com.rafaellbarros.order.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
@@ -8,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -21,6 +24,9 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "orders")
+@CompoundIndex(name = "items_id", def = "{ 'items._id': 1 }", sparse = true)
+@CompoundIndex(name = "status_createdAt", def = "{ 'status': 1, 'createdAt': 1, '_id': 1 }")
+@CompoundIndex(name = "status_leaseExpiresAt", def = "{ 'status': 1, 'leaseExpiresAt': 1 }")
 public class Order {
 
     @Id
@@ -42,4 +48,18 @@ public class Order {
     private String traceId;
     private String processingMessage;
 
+    /**
+     * Incrementada a cada gravação; vira o ETag da consulta e protege a gravação do processamento.
+     */
+    @Version
+    private Long version;
+
+    @JsonIgnore
+    private String processingOwner;
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private String leaseId;
+    @JsonIgnore
+    private LocalDateTime leaseExpiresAt;
+
 }
@@ -0,0 +1,34 @@
+package br.com.rafaellbarros.order.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado da criação de um pedido em lote. O pedido criado acompanha o resultado para uso interno
+ * (ex.: responder a criação individual agrupada), mas não é serializado.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderCreationResult(String externalId, Status status, String orderId, String reason,
+                                  @JsonIgnore Order order) {
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID
+    }
+
+    public static OrderCreationResult created(final Order order) {
+        return new OrderCreationResult(order.getExternalId(), Status.CREATED, order.getId(), null, order);
+    }
+
+    public static OrderCreationResult duplicate(final String externalId) {
+        return new OrderCreationResult(externalId, Status.DUPLICATE, null, "Pedido duplicado externalId: " + externalId, null);
+    }
+
+    public static OrderCreationResult invalid(final String externalId, final String reason) {
+        return new OrderCreationResult(externalId, Status.INVALID, null, reason, null);
+    }
+
+    @JsonIgnore
+    public boolean isCreated() {
+        return status == Status.CREATED;
+    }
+}
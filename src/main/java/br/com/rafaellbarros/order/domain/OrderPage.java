@@ -0,0 +1,9 @@
+package br.com.rafaellbarros.order.domain;
+
+import java.util.List;
+
+/**
+ * Uma página de resultados e o cursor da próxima, nulo quando não há mais páginas.
+ */
+public record OrderPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,43 @@
+package br.com.rafaellbarros.order.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de uma página na ordenação (createdAt, id). Trafega como texto opaco em base64 url-safe.
+ */
+public record OrderPageCursor(LocalDateTime createdAt, String id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static OrderPageCursor after(final Order order) {
+        return new OrderPageCursor(order.getCreatedAt(), order.getId());
+    }
+
+    public static OrderPageCursor after(final OrderSummary order) {
+        return new OrderPageCursor(order.createdAt(), order.id());
+    }
+
+    public String encode() {
+        final var raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException se o texto não for um cursor gerado por {@link #encode()}
+     */
+    public static OrderPageCursor decode(final String cursor) {
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final var separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            return new OrderPageCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, ex);
+        }
+    }
+}
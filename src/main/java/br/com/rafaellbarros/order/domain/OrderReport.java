@@ -0,0 +1,14 @@
+package br.com.rafaellbarros.order.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rollups diários do período e a soma deles por status.
+ */
+public record OrderReport(LocalDate from, LocalDate to, List<OrderRollup> days, List<Totals> totals) {
+
+    public record Totals(OrderStatus status, long orders, long items, BigDecimal totalAmount) {
+    }
+}
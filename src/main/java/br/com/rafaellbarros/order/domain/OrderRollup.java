@@ -0,0 +1,47 @@
+package br.com.rafaellbarros.order.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais dos pedidos processados em um dia (pelo createdAt) e status. O _id é {@code dia:status}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "order_rollups")
+@CompoundIndex(name = "day_status", def = "{ 'day': 1, 'status': 1 }")
+public class OrderRollup {
+
+    @Id
+    @JsonIgnore
+    private String id;
+
+    /**
+     * Dia no formato ISO (yyyy-MM-dd), para ordenar e filtrar por faixa como texto.
+     */
+    private String day;
+    private OrderStatus status;
+
+    private long orders;
+    private long items;
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal totalAmount;
+
+    public static String idOf(final LocalDate day, final OrderStatus status) {
+        return day + ":" + status;
+    }
+}
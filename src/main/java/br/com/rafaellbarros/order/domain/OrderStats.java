@@ -0,0 +1,10 @@
+package br.com.rafaellbarros.order.domain;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Quantidade de pedidos por status e o momento da última reconciliação com o Mongo.
+ */
+public record OrderStats(Map<OrderStatus, Long> byStatus, long total, Instant reconciledAt) {
+}
@@ -1,5 +1,5 @@
 package br.com.rafaellbarros.order.domain;
 
 public enum OrderStatus {
-    RECEIVED, CALCULATED, FAILED
-}
\ No newline at end of file
+    RECEIVED, PROCESSING, CALCULATED, FAILED
+}
@@ -0,0 +1,17 @@
+package br.com.rafaellbarros.order.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Visão resumida de um pedido para as listagens, lida do Mongo já com projeção: itens, traceId e
+ * processingMessage não saem do banco.
+ */
+public record OrderSummary(String id, String externalId, OrderStatus status, BigDecimal totalAmount,
+                           LocalDateTime createdAt, LocalDateTime updateAt) {
+
+    /**
+     * Campos da projeção, com os nomes de {@link Order}.
+     */
+    public static final String[] FIELDS = {"id", "externalId", "status", "totalAmount", "createdAt", "updateAt"};
+}
@@ -0,0 +1,9 @@
+package br.com.rafaellbarros.order.domain;
+
+import java.util.List;
+
+/**
+ * Publicado depois que pedidos novos são gravados, para que sejam calculados sem esperar o agendamento.
+ */
+public record OrdersReceivedEvent(List<String> orderIds) {
+}
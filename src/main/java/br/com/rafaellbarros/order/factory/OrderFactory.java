@@ -25,6 +25,7 @@ public class OrderFactory {
                 .items(request.getItems())
                 .traceId(UUID.randomUUID().toString())
                 .processingMessage("Order received successfully")
+                .version(0L)
                 .build();
         logger.created(order);
         return order;
@@ -0,0 +1,79 @@
+package br.com.rafaellbarros.order.job;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.OrderPageCursor;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import br.com.rafaellbarros.order.service.OrderStatusCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+/**
+ * Move pedidos CALCULATED e FAILED mais antigos que {@code order.archive.max-age} de orders para
+ * orders_archive, em lotes com pausa entre eles. Cada lote é copiado antes de ser apagado, e a cópia
+ * regrava o que já está no arquivo: uma execução interrompida é retomada pela próxima sem perder pedidos.
+ * Os lotes avançam por cursor, então um pedido que o arquivo recusou fica em orders sem travar os seguintes.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.archive", name = "enabled", havingValue = "true")
+public class OrderArchiveJob {
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository archiveRepository;
+    private final OrderStatusCounters statusCounters;
+    private final OrderMaintenanceLogger logger;
+    private final OrderProperties properties;
+
+    @Scheduled(cron = "${order.archive.schedule}")
+    public void archive() {
+        final var settings = properties.getArchive();
+        final var before = LocalDateTime.now().minus(settings.getMaxAge());
+        final long start = System.nanoTime();
+        long archived = 0;
+        int batches = 0;
+        OrderPageCursor after = null;
+
+        while (settings.getMaxBatchesPerRun() <= 0 || batches < settings.getMaxBatchesPerRun()) {
+            final var batch = orderRepository.findArchivable(before, after, settings.getBatchSize());
+            if (batch.isEmpty()) {
+                break;
+            }
+            after = OrderPageCursor.after(batch.get(batch.size() - 1));
+
+            final var copied = new HashSet<>(archiveRepository.archive(batch));
+            if (copied.size() < batch.size()) {
+                logger.archiveBatchIncomplete(batch.size() - copied.size());
+            }
+            batches++;
+
+            if (!copied.isEmpty()) {
+                orderRepository.deleteAllById(copied);
+                statusCounters.archived(batch.stream().filter(order -> copied.contains(order.getId())).toList());
+                archived += copied.size();
+            }
+
+            if (batch.size() < settings.getBatchSize() || !pause()) {
+                break;
+            }
+        }
+
+        logger.ordersArchived(archived, batches, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getArchive().getPause());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.rafaellbarros.order.job;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
+import br.com.rafaellbarros.order.repository.OrderItemRepository;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Remove de order_items os itens que nenhum pedido referencia, em orders ou em orders_archive, como os
+ * gravados antes de uma inserção de pedido que falhou. Percorre a coleção por faixas de _id e apaga cada faixa com um único delete.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderItemCleanupJob {
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final OrderMaintenanceLogger logger;
+    private final OrderProperties properties;
+
+    @Scheduled(cron = "${order.items.cleanup-schedule}")
+    public void removeOrphans() {
+        final int pageSize = properties.getItems().getCleanupPageSize();
+        final var page = PageRequest.of(0, pageSize, Sort.by("id"));
+        long scanned = 0;
+        long removed = 0;
+
+        var items = orderItemRepository.findIds(page);
+        while (!items.isEmpty()) {
+            final var ids = items.stream().map(OrderItem::getId).toList();
+            final var orphans = findOrphans(ids);
+
+            if (!orphans.isEmpty()) {
+                orderItemRepository.deleteAllById(orphans);
+                removed += orphans.size();
+            }
+            scanned += ids.size();
+
+            if (items.size() < pageSize) {
+                break;
+            }
+            items = orderItemRepository.findIdsAfter(ids.get(ids.size() - 1), page);
+        }
+
+        logger.orphanItemsRemoved(scanned, removed);
+    }
+
+    private List<String> findOrphans(final List<String> itemIds) {
+        // O arquivamento move o pedido com a lista de referências, mas os itens continuam em order_items.
+        final var referenced = Stream.concat(
+                        orderRepository.findItemReferences(itemIds).stream(),
+                        orderArchiveRepository.findItemReferences(itemIds).stream())
+                .flatMap(order -> order.getItems().stream())
+                .map(OrderItem::getId)
+                .collect(Collectors.toSet());
+
+        return itemIds.stream()
+                .filter(id -> !referenced.contains(id))
+                .toList();
+    }
+}
@@ -0,0 +1,49 @@
+package br.com.rafaellbarros.order.job;
+
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import br.com.rafaellbarros.order.repository.OrderRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Recalcula order_rollups a partir de orders, corrigindo o que os incrementos do processador deixaram de somar.
+ * Só os dias fechados são recalculados: os anteriores a hoje e ao pedido mais antigo ainda em RECEIVED ou
+ * PROCESSING. Nesses dias nenhum pedido muda mais de status, então o processador não os incrementa enquanto
+ * a agregação roda.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderRollupRebuildJob {
+
+    private final OrderRollupRepository rollupRepository;
+    private final OrderRepository orderRepository;
+    private final OrderMaintenanceLogger logger;
+
+    @Scheduled(cron = "${order.rollups.rebuild-schedule}")
+    public void rebuild() {
+        final long start = System.nanoTime();
+        final var before = firstOpenDay();
+        rollupRepository.rebuild(before);
+        logger.rollupsRebuilt(before, rollupRepository.count(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private LocalDate firstOpenDay() {
+        final var today = LocalDate.now();
+        return Stream.of(OrderStatus.RECEIVED, OrderStatus.PROCESSING)
+                .map(orderRepository::findOldestCreatedAt)
+                .flatMap(Optional::stream)
+                .map(LocalDateTime::toLocalDate)
+                .filter(day -> day.isBefore(today))
+                .min(Comparator.naturalOrder())
+                .orElse(today);
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.rafaellbarros.order.logger;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decide se um evento de log por pedido deve ser emitido: primeiro a amostragem ({@code sample-rate}),
+ * depois o limite de eventos por segundo ({@code max-per-second}, 0 = sem limite). Eventos de erro não
+ * passam por aqui.
+ */
+@Component
+public class LogSampler {
+
+    private final double sampleRate;
+    private final long maxPerSecond;
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicLong emittedInSecond = new AtomicLong();
+
+    public LogSampler(final OrderProperties properties) {
+        this.sampleRate = properties.getLogging().getSampleRate();
+        this.maxPerSecond = properties.getLogging().getMaxPerSecond();
+    }
+
+    public boolean sample() {
+        if (sampleRate <= 0) {
+            return false;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        if (maxPerSecond <= 0) {
+            return true;
+        }
+
+        final long second = System.currentTimeMillis() / 1000;
+        final long current = currentSecond.get();
+        if (current != second && currentSecond.compareAndSet(current, second)) {
+            emittedInSecond.set(0);
+        }
+        return emittedInSecond.incrementAndGet() <= maxPerSecond;
+    }
+}
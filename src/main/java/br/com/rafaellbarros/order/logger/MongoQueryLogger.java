@@ -0,0 +1,22 @@
+package br.com.rafaellbarros.order.logger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class MongoQueryLogger {
+
+    public void slowCommand(final String command, final String collection, final long millis, final String shape) {
+        log.warn("Comando Mongo lento: {} em {} levou {} ms. Filtro: {}", command, collection, millis, shape);
+    }
+
+    public void collectionScan(final String command, final String collection, final String shape) {
+        log.warn("Comando Mongo sem índice (COLLSCAN): {} em {}. Filtro: {}", command, collection, shape);
+    }
+
+    public void explainFailed(final String collection, final Exception ex) {
+        log.debug("Não foi possível rodar explain em {}: {}", collection, ex.getMessage());
+    }
+
+}
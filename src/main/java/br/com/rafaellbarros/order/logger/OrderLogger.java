@@ -3,18 +3,33 @@ package br.com.rafaellbarros.order.logger;
 import br.com.rafaellbarros.order.domain.Order;
 import br.com.rafaellbarros.order.domain.OrderItem;
 import br.com.rafaellbarros.order.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 
 
+/**
+ * Os eventos por pedido passam pelo {@link LogSampler} e só leem os campos do pedido quando vão de fato ser
+ * emitidos; nunca logam o pedido inteiro.
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class OrderLogger {
 
+    private final LogSampler sampler;
+
     public void created(final Order order) {
-        log.info("Pedido criado: {}", order);
+        if (!log.isInfoEnabled() || !sampler.sample()) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue("traceId", order::getTraceId)
+                .addKeyValue("externalId", order::getExternalId)
+                .addKeyValue("items", () -> order.getItems() == null ? 0 : order.getItems().size())
+                .log("Pedido criado");
     }
 
     public void sevedItems(final List<OrderItem> items) {
@@ -22,13 +37,23 @@ public class OrderLogger {
     }
 
     public void saved(final Order order) {
-        log.info("[{}] Pedido salvo: {}", order.getTraceId(), order.getExternalId());
+        if (!log.isInfoEnabled() || !sampler.sample()) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue("traceId", order::getTraceId)
+                .addKeyValue("externalId", order::getExternalId)
+                .log("Pedido salvo");
     }
 
     public void savedOrders(final List<Order> orders) {
         log.info("{} pedido(s) salvo(s) com sucesso.", orders.size());
     }
 
+    public void ingested(final long read, final long created) {
+        log.info("Ingestão NDJSON finalizada: {} pedido(s) lido(s), {} criado(s).", read, created);
+    }
+
     public void duplicated(final String externalId) {
         log.warn("Pedido duplicado externalId: {}", externalId);
     }
@@ -42,11 +67,17 @@ public class OrderLogger {
     }
 
     public void searchByExternalId(final String id) {
-        log.info("Buscando pedido pelo externalId: {}", id);
+        if (!log.isInfoEnabled() || !sampler.sample()) {
+            return;
+        }
+        log.atInfo().addKeyValue("externalId", id).log("Buscando pedido pelo externalId");
     }
 
     public void found(final String orderId) {
-        log.info("Pedido encontrado: {}", orderId);
+        if (!log.isInfoEnabled() || !sampler.sample()) {
+            return;
+        }
+        log.atInfo().addKeyValue("orderId", orderId).log("Pedido encontrado");
     }
 
     public void searchByStatus(final OrderStatus status) {
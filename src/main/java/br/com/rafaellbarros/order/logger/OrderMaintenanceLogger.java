@@ -0,0 +1,45 @@
+package br.com.rafaellbarros.order.logger;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Slf4j
+@Component
+public class OrderMaintenanceLogger {
+
+    public void orphanItemsRemoved(final long scanned, final long removed) {
+        log.info("Limpeza de order_items: {} item(ns) verificado(s), {} órfão(s) removido(s).", scanned, removed);
+    }
+
+    public void rollupsRebuilt(final LocalDate before, final long rollups, final long millis) {
+        log.info("order_rollups recalculado até {} (exclusive): {} documento(s) em {} ms.", before, rollups, millis);
+    }
+
+    public void statusCountersReconciled(final long drift) {
+        if (drift == 0) {
+            log.debug("Contadores por status conferem com o Mongo.");
+            return;
+        }
+        log.info("Contadores por status reconciliados com o Mongo: diferença total de {} pedido(s).", drift);
+    }
+
+    public void ordersArchived(final long archived, final int batches, final long millis) {
+        log.info("Arquivamento: {} pedido(s) movido(s) para orders_archive em {} lote(s), {} ms.", archived, batches, millis);
+    }
+
+    public void archiveBatchIncomplete(final int failed) {
+        log.warn("Arquivamento: {} pedido(s) do lote não foram copiados e continuam em orders.", failed);
+    }
+
+    public void bloomFilterLoaded(final long externalIds, final long millis) {
+        log.info("Filtro de Bloom de externalId carregado: {} pedido(s) em {} ms.", externalIds, millis);
+    }
+
+    public void bloomFilterLoadFailed(final Exception ex) {
+        log.error("Falha ao carregar o filtro de Bloom de externalId; consultas de duplicidade seguem indo ao Mongo: {}",
+                ex.getMessage(), ex);
+    }
+
+}
@@ -1,21 +1,34 @@
 package br.com.rafaellbarros.order.logger;
 
 import br.com.rafaellbarros.order.domain.Order;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class OrderProcessorLogger {
 
+    private final LogSampler sampler;
+
     public void processedSuccessfully(final Order order) {
-        log.info("[{}] Pedido {} processado com sucesso. Total R$ {}",
-                order.getTraceId(), order.getExternalId(), order.getTotalAmount());
+        if (!log.isInfoEnabled() || !sampler.sample()) {
+            return;
+        }
+        log.atInfo()
+                .addKeyValue("traceId", order::getTraceId)
+                .addKeyValue("externalId", order::getExternalId)
+                .addKeyValue("totalAmount", order::getTotalAmount)
+                .log("Pedido processado com sucesso");
     }
 
     public void errorProcessing(final Order order, final Exception ex) {
-        log.error("[{}] Erro ao processar pedido {}: {}",
-                order.getTraceId(), order.getExternalId(), ex.getMessage(), ex);
+        log.atError()
+                .addKeyValue("traceId", order.getTraceId())
+                .addKeyValue("externalId", order.getExternalId())
+                .setCause(ex)
+                .log("Erro ao processar pedido: {}", ex.getMessage());
     }
 
 
@@ -23,8 +36,20 @@ public class OrderProcessorLogger {
         log.info("Nenhum pedido com status RECEIVED encontrado.");
     }
 
-    public void startProcessing(final int size) {
-        log.info("Iniciando processamento de {} pedidos RECEIVED", size);
+    public void processingChunk(final int size) {
+        log.info("Processando bloco de {} pedidos RECEIVED", size);
+    }
+
+    public void leaseLost(final long count) {
+        log.warn("{} pedido(s) não gravado(s): lease expirado e retomado por outra instância.", count);
+    }
+
+    public void queueFull(final int dropped) {
+        log.warn("Fila de processamento cheia: {} pedido(s) ficam para a varredura agendada.", dropped);
+    }
+
+    public void queueWorkerError(final Exception ex) {
+        log.error("Erro ao processar pedidos da fila: {}", ex.getMessage(), ex);
     }
 
     public void processingCompleted(final int size) {
@@ -0,0 +1,101 @@
+package br.com.rafaellbarros.order.processor;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Métricas de atraso do processamento. O backlog RECEIVED é amostrado a cada
+ * {@code order.processor.backlog.sample-interval} com um count e um find limit 1, ambos pelo índice
+ * (status, createdAt); os gauges só leem a última amostra.
+ */
+@Component
+public class OrderProcessingMetrics {
+
+    public static final String SWEEPER = "sweeper";
+    public static final String QUEUE = "queue";
+
+    private final OrderRepository repository;
+    private final Timer lagTimer;
+    private final DistributionSummary sweeperCycles;
+    private final DistributionSummary queueCycles;
+
+    private volatile BacklogSample backlog = new BacklogSample(-1, null, null);
+    private volatile Cycle lastCycle;
+
+    public OrderProcessingMetrics(OrderRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.lagTimer = Timer.builder("order_processing_lag_seconds")
+                .description("Tempo entre a criação do pedido e a gravação do cálculo")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(meterRegistry);
+        this.sweeperCycles = cycleSummary(meterRegistry, SWEEPER);
+        this.queueCycles = cycleSummary(meterRegistry, QUEUE);
+
+        Gauge.builder("order_backlog_received", this, metrics -> metrics.backlog.received())
+                .description("Pedidos RECEIVED na última amostra (-1 antes da primeira)")
+                .register(meterRegistry);
+        Gauge.builder("order_backlog_oldest_received_age_seconds", this, metrics -> metrics.oldestReceivedAge().toMillis() / 1000.0)
+                .description("Idade do pedido RECEIVED mais antigo na última amostra")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.processor.backlog.sample-interval:15s}")
+    public void sampleBacklog() {
+        final var received = repository.countByStatus(OrderStatus.RECEIVED);
+        final var oldest = received == 0 ? null : repository.findOldestCreatedAt(OrderStatus.RECEIVED).orElse(null);
+        backlog = new BacklogSample(received, oldest, Instant.now());
+    }
+
+    public void recordLag(final List<Order> orders) {
+        for (Order order : orders) {
+            if (order.getCreatedAt() != null && order.getUpdateAt() != null) {
+                lagTimer.record(Duration.between(order.getCreatedAt(), order.getUpdateAt()));
+            }
+        }
+    }
+
+    public void recordCycle(final String source, final int orders) {
+        (QUEUE.equals(source) ? queueCycles : sweeperCycles).record(orders);
+        lastCycle = new Cycle(source, orders, Instant.now());
+    }
+
+    public BacklogSample backlog() {
+        return backlog;
+    }
+
+    public Cycle lastCycle() {
+        return lastCycle;
+    }
+
+    public Duration oldestReceivedAge() {
+        final var oldest = backlog.oldestReceivedAt();
+        return oldest == null ? Duration.ZERO : Duration.between(oldest, LocalDateTime.now());
+    }
+
+    private static DistributionSummary cycleSummary(final MeterRegistry meterRegistry, final String source) {
+        return DistributionSummary.builder("order_processor_cycle_orders")
+                .description("Pedidos calculados por ciclo da varredura ou bloco da fila")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public record BacklogSample(long received, LocalDateTime oldestReceivedAt, Instant sampledAt) {
+    }
+
+    public record Cycle(String source, int orders, Instant finishedAt) {
+    }
+}
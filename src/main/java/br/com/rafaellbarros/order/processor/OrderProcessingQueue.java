@@ -0,0 +1,125 @@
+package br.com.rafaellbarros.order.processor;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.OrdersReceivedEvent;
+import br.com.rafaellbarros.order.logger.OrderProcessorLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila em memória, limitada, dos pedidos recém-criados. Os workers drenam a fila em blocos e os
+ * reivindicam pelo id, da mesma forma que o agendamento faz. Quando a fila está cheia ou a aplicação
+ * reinicia, os pedidos ficam RECEIVED e são recuperados pela varredura agendada.
+ */
+@Component
+public class OrderProcessingQueue implements SmartLifecycle {
+
+    private final OrderProcessor orderProcessor;
+    private final OrderProcessorLogger logger;
+    private final OrderProperties.Queue settings;
+    private final int chunkSize;
+    private final BlockingQueue<String> queue;
+    private final Counter droppedCounter;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running;
+
+    public OrderProcessingQueue(OrderProcessor orderProcessor,
+                                OrderProcessorLogger logger,
+                                OrderProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.orderProcessor = orderProcessor;
+        this.logger = logger;
+        this.settings = properties.getProcessor().getQueue();
+        this.chunkSize = properties.getProcessor().getChunkSize();
+        this.queue = new ArrayBlockingQueue<>(settings.getCapacity());
+        this.droppedCounter = meterRegistry.counter("order_processing_queue_dropped_total");
+        Gauge.builder("order_processing_queue_size", queue, Collection::size)
+                .description("Pedidos aguardando cálculo na fila em memória")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onOrdersReceived(final OrdersReceivedEvent event) {
+        if (!running) {
+            return;
+        }
+
+        int dropped = 0;
+        for (String orderId : event.orderIds()) {
+            if (!queue.offer(orderId)) {
+                dropped++;
+            }
+        }
+
+        if (dropped > 0) {
+            droppedCounter.increment(dropped);
+            logger.queueFull(dropped);
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+
+        running = true;
+        for (int i = 0; i < settings.getWorkers(); i++) {
+            workers.add(Thread.ofPlatform()
+                    .name("order-processing-queue-" + i)
+                    .daemon()
+                    .start(this::work));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        while (running) {
+            try {
+                final var first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                final var orderIds = new ArrayList<String>(chunkSize);
+                orderIds.add(first);
+                queue.drainTo(orderIds, chunkSize - 1);
+
+                orderProcessor.processReceived(orderIds);
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                logger.queueWorkerError(ex);
+            }
+        }
+    }
+}
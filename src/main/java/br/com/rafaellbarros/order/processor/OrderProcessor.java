@@ -1,13 +1,21 @@
 package br.com.rafaellbarros.order.processor;
 
+import br.com.rafaellbarros.order.cache.OrderCache;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
 import br.com.rafaellbarros.order.domain.OrderStatus;
 import br.com.rafaellbarros.order.logger.OrderProcessorLogger;
 import br.com.rafaellbarros.order.repository.OrderRepository;
 import br.com.rafaellbarros.order.service.OrderProcessorService;
+import br.com.rafaellbarros.order.service.OrderRollupService;
+import br.com.rafaellbarros.order.service.OrderStatusCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+
 
 @Component
 @RequiredArgsConstructor
@@ -16,24 +24,71 @@ public class OrderProcessor {
     private final OrderProcessorService orderProcessorService;
     private final OrderRepository repository;
     private final OrderProcessorLogger logger;
+    private final OrderProperties properties;
+    private final OrderCache orderCache;
+    private final OrderProcessingMetrics metrics;
+    private final OrderRollupService rollupService;
+    private final OrderStatusCounters statusCounters;
 
+    /**
+     * Reivindica blocos de pedidos até não restar nenhum disponível. Cada bloco é gravado antes do
+     * próximo ser reivindicado, e várias instâncias podem rodar este método ao mesmo tempo sem
+     * calcular o mesmo pedido duas vezes.
+     */
     @Scheduled(cron = "${order.processor.schedule}")
     public void processScheduledOrders() {
 
-        final var receivedOrders = repository.findByStatus(OrderStatus.RECEIVED);
+        final var processor = properties.getProcessor();
+        int total = 0;
+
+        List<Order> chunk;
+        while (!(chunk = repository.claimForProcessing(
+                processor.getInstanceId(), processor.getChunkSize(), processor.getLeaseDuration())).isEmpty()) {
+            total += processChunk(chunk);
+        }
+
+        metrics.recordCycle(OrderProcessingMetrics.SWEEPER, total);
 
-        if (receivedOrders.isEmpty()) {
+        if (total == 0) {
             logger.notStatusFound();
             return;
         }
 
-        int size = receivedOrders.size();
-        logger.startProcessing(size);
+        logger.processingCompleted(total);
+    }
+
+    /**
+     * Calcula pedidos específicos, vindos da fila de processamento. Os que já foram reivindicados
+     * por outra instância ou pela varredura são ignorados.
+     */
+    public void processReceived(final Collection<String> orderIds) {
+        final var processor = properties.getProcessor();
+        final var chunk = repository.claimByIds(orderIds, processor.getInstanceId(), processor.getLeaseDuration());
+
+        if (!chunk.isEmpty()) {
+            metrics.recordCycle(OrderProcessingMetrics.QUEUE, processChunk(chunk));
+        }
+    }
+
+    private int processChunk(final List<Order> chunk) {
+        logger.processingChunk(chunk.size());
+        // Pedidos retomados de um lease expirado já estavam em PROCESSING; a reconciliação corrige.
+        statusCounters.transition(OrderStatus.RECEIVED, OrderStatus.PROCESSING, chunk.size());
+
+        final var processedOrders = orderProcessorService.processOrders(chunk);
 
-        final var processedOrders = orderProcessorService.processOrders(receivedOrders);
+        final var written = repository.updateProcessingResults(processedOrders);
+        if (written.size() < processedOrders.size()) {
+            logger.leaseLost(processedOrders.size() - written.size());
+        }
+        // Só os gravados aqui: os de lease perdido seguem em PROCESSING com quem os retomou e entram
+        // nos rollups dele.
+        statusCounters.processed(written);
+        rollupService.record(written);
 
-        repository.saveAll(processedOrders);
+        orderCache.evict(processedOrders.stream().map(Order::getExternalId).toList());
+        metrics.recordLag(written);
 
-        logger.processingCompleted(size);
+        return processedOrders.size();
     }
 }
@@ -0,0 +1,70 @@
+package br.com.rafaellbarros.order.processor;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * {@code /actuator/orderprocessor}: resumo do processamento desta instância, montado só com valores já
+ * em memória (última amostra do backlog, contadores e fila), sem consultar o Mongo.
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "orderprocessor")
+public class OrderProcessorEndpoint {
+
+    private final OrderProcessingMetrics metrics;
+    private final OrderProcessingQueue queue;
+    private final OrderProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Summary summary() {
+        final var processor = properties.getProcessor();
+        final var backlog = metrics.backlog();
+        final var oldestAge = metrics.oldestReceivedAge();
+
+        final String status;
+        if (backlog.sampledAt() == null) {
+            status = "UNKNOWN";
+        } else if (oldestAge.compareTo(processor.getBacklog().getMaxAge()) > 0) {
+            status = "BEHIND";
+        } else {
+            status = "OK";
+        }
+
+        return new Summary(status,
+                processor.getInstanceId(),
+                processor.getEngine().name(),
+                backlog.received(),
+                oldestAge.toSeconds(),
+                backlog.sampledAt(),
+                queue.size(),
+                metrics.lastCycle(),
+                count("order_processor_processed_total"),
+                count("order_processor_errors_total"));
+    }
+
+    private double count(final String name) {
+        final Counter counter = meterRegistry.find(name).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    public record Summary(String status,
+                          String instanceId,
+                          String engine,
+                          long receivedBacklog,
+                          long oldestReceivedAgeSeconds,
+                          Instant backlogSampledAt,
+                          int queueSize,
+                          OrderProcessingMetrics.Cycle lastCycle,
+                          double processedTotal,
+                          double errorsTotal) {
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.Order;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pedidos finalizados movidos de orders para orders_archive pelo job de arquivamento. Os documentos têm o
+ * mesmo formato de {@link Order}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+
+    public static final String COLLECTION = "orders_archive";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * O índice único de externalId de orders não vale aqui; este garante a consulta por externalId e
+     * impede que um pedido seja arquivado duas vezes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        mongoTemplate.indexOps(COLLECTION).ensureIndex(new Index("externalId", Sort.Direction.ASC).unique());
+    }
+
+    /**
+     * Grava os pedidos no arquivo em uma operação bulk não ordenada, com replace/upsert por _id: um pedido
+     * que já estava no arquivo, de uma execução interrompida antes de apagar de orders, é regravado e conta
+     * como arquivado. Qualquer erro, inclusive o de chave duplicada vindo de outro pedido arquivado com o
+     * mesmo externalId, deixa o pedido fora do retorno e ele continua em orders.
+     *
+     * @return os ids dos pedidos que estão no arquivo e podem sair de orders
+     */
+    public List<String> archive(final List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        final var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class, COLLECTION);
+        orders.forEach(order -> bulk.replaceOne(
+                Query.query(Criteria.where("id").is(order.getId())), order, FindAndReplaceOptions.options().upsert()));
+
+        Set<Integer> failed = Set.of();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException ex) {
+            failed = ex.getErrors().stream()
+                    .map(BulkWriteError::getIndex)
+                    .collect(Collectors.toSet());
+        }
+
+        final var archived = new ArrayList<String>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            if (!failed.contains(i)) {
+                archived.add(orders.get(i).getId());
+            }
+        }
+        return archived;
+    }
+
+    public Optional<Order> findByExternalId(final String externalId) {
+        return Optional.ofNullable(mongoTemplate.findOne(
+                Query.query(Criteria.where("externalId").is(externalId)), Order.class, COLLECTION));
+    }
+
+    public boolean existsByExternalId(final String externalId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("externalId").is(externalId)), COLLECTION);
+    }
+
+    public Set<String> findExternalIdsIn(final Collection<String> externalIds) {
+        if (externalIds.isEmpty()) {
+            return Set.of();
+        }
+        final var query = Query.query(Criteria.where("externalId").in(externalIds));
+        query.fields().include("externalId");
+        return mongoTemplate.find(query, Order.class, COLLECTION).stream()
+                .map(Order::getExternalId)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Pedidos arquivados que referenciam algum dos itens, com apenas items._id preenchido. Mesma conversão
+     * de ids de {@link OrderRepositoryCustom#findItemReferences}.
+     */
+    public List<Order> findItemReferences(final Collection<String> itemIds) {
+        final var ids = itemIds.stream()
+                .map(id -> ObjectId.isValid(id) ? new ObjectId(id) : id)
+                .toList();
+        final var query = Query.query(Criteria.where("items._id").in(ids));
+        query.fields().include("items._id");
+        return mongoTemplate.find(query, Order.class, COLLECTION);
+    }
+
+    /**
+     * Percorre por cursor apenas o externalId dos pedidos arquivados. O stream precisa ser fechado pelo chamador.
+     */
+    public Stream<String> streamExternalIds() {
+        final var query = new Query();
+        query.fields().include("externalId");
+        return mongoTemplate.stream(query, Order.class, COLLECTION).map(Order::getExternalId);
+    }
+}
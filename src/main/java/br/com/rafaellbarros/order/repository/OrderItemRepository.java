@@ -1,7 +1,17 @@
 package br.com.rafaellbarros.order.repository;
 
 import br.com.rafaellbarros.order.domain.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
 
 public interface OrderItemRepository extends MongoRepository<OrderItem, String> {
+
+    @Query(value = "{}", fields = "{ '_id': 1 }")
+    List<OrderItem> findIds(Pageable pageable);
+
+    @Query(value = "{ '_id': { $gt: ?0 } }", fields = "{ '_id': 1 }")
+    List<OrderItem> findIdsAfter(String id, Pageable pageable);
 }
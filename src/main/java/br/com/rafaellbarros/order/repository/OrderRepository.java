@@ -3,12 +3,16 @@ package br.com.rafaellbarros.order.repository;
 import br.com.rafaellbarros.order.domain.Order;
 import br.com.rafaellbarros.order.domain.OrderStatus;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface OrderRepository extends MongoRepository<Order, String> {
+public interface OrderRepository extends MongoRepository<Order, String>, OrderRepositoryCustom {
     Optional<Order> findByExternalId(String id);
-    List<Order> findByStatus(OrderStatus status);
-}
+    long countByStatus(OrderStatus status);
 
+    @Query(value = "{ 'externalId': { $in: ?0 } }", fields = "{ 'externalId': 1 }")
+    List<Order> findExternalIdsIn(Collection<String> externalIds);
+}
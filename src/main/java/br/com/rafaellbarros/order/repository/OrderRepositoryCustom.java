@@ -0,0 +1,85 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderPageCursor;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.domain.OrderSummary;
+import com.mongodb.bulk.BulkWriteError;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Insere os pedidos em uma única operação bulk não ordenada. Os ids são atribuídos antes do envio,
+     * e a falha de um documento não interrompe os demais.
+     *
+     * @return os erros por documento, indexados pela posição na lista recebida
+     */
+    List<BulkWriteError> insertUnordered(List<Order> orders);
+
+    /**
+     * Reivindica até {@code limit} pedidos RECEIVED, ou PROCESSING com lease expirado, movendo-os para
+     * PROCESSING com o dono e a expiração informados. Cada documento só é reivindicado por uma instância.
+     *
+     * @return os pedidos reivindicados, apenas com os campos usados no cálculo
+     */
+    List<Order> claimForProcessing(String owner, int limit, Duration leaseDuration);
+
+    /**
+     * Mesmo que {@link #claimForProcessing}, mas restrito aos ids informados.
+     */
+    List<Order> claimByIds(Collection<String> ids, String owner, Duration leaseDuration);
+
+    /**
+     * Grava o resultado do processamento com $set e libera o lease, apenas se o lease e a versão ainda forem
+     * os da reivindicação, e incrementa a versão. Campos que não foram carregados não são sobrescritos.
+     *
+     * @return os pedidos que foram de fato gravados; os demais perderam o lease para outra instância
+     */
+    List<Order> updateProcessingResults(List<Order> orders);
+
+    /**
+     * Página de pedidos no status, ordenada por (createdAt, id) e começando depois do cursor informado.
+     * Sem cursor, devolve a primeira página.
+     */
+    List<Order> findPageByStatus(OrderStatus status, OrderPageCursor after, int limit);
+
+    /**
+     * Mesma página de {@link #findPageByStatus}, lida com projeção apenas dos campos de {@link OrderSummary}.
+     */
+    List<OrderSummary> findSummaryPageByStatus(OrderStatus status, OrderPageCursor after, int limit);
+
+    /**
+     * Percorre por cursor todos os pedidos no status. O stream precisa ser fechado pelo chamador.
+     */
+    Stream<Order> streamByStatus(OrderStatus status);
+
+    /**
+     * Percorre por cursor apenas o externalId de todos os pedidos. O stream precisa ser fechado pelo chamador.
+     */
+    Stream<String> streamExternalIds();
+
+    /**
+     * Pedidos que embutem algum dos itens informados, apenas com os _id dos itens.
+     */
+    List<Order> findItemReferences(Collection<String> itemIds);
+
+    /**
+     * Até {@code limit} pedidos CALCULATED ou FAILED criados antes de {@code before}, depois de {@code after}
+     * na ordenação (createdAt, id), com o documento inteiro para ser copiado ao arquivo.
+     *
+     * @param after posição do último pedido do lote anterior, ou {@code null} para começar do mais antigo
+     */
+    List<Order> findArchivable(LocalDateTime before, OrderPageCursor after, int limit);
+
+    /**
+     * createdAt do pedido mais antigo no status, lido pelo índice (status, createdAt).
+     */
+    Optional<LocalDateTime> findOldestCreatedAt(OrderStatus status);
+}
@@ -0,0 +1,236 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderPageCursor;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.domain.OrderSummary;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private static final String[] PROCESSING_FIELDS = {
+            "externalId", "traceId", "status", "createdAt", "leaseId", "version", "items.price", "items.quantity"
+    };
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<BulkWriteError> insertUnordered(final List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        orders.stream()
+                .filter(order -> order.getId() == null)
+                .forEach(order -> order.setId(ObjectId.get().toHexString()));
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class)
+                    .insert(orders)
+                    .execute();
+            return List.of();
+        } catch (BulkOperationException ex) {
+            return ex.getErrors();
+        }
+    }
+
+    @Override
+    public List<Order> claimForProcessing(final String owner, final int limit, final Duration leaseDuration) {
+        final var now = LocalDateTime.now();
+        final var candidates = Query.query(claimable(now))
+                .with(Sort.by("createdAt"))
+                .limit(limit);
+        candidates.fields().include("id");
+
+        final var ids = mongoTemplate.find(candidates, Order.class).stream()
+                .map(Order::getId)
+                .toList();
+
+        return claim(ids, owner, leaseDuration, now);
+    }
+
+    @Override
+    public List<Order> claimByIds(final Collection<String> ids, final String owner, final Duration leaseDuration) {
+        return claim(ids, owner, leaseDuration, LocalDateTime.now());
+    }
+
+    private List<Order> claim(final Collection<String> ids, final String owner,
+                              final Duration leaseDuration, final LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        final var leaseId = UUID.randomUUID().toString();
+
+        // O filtro repete a condição de elegibilidade: se outra instância reivindicou um documento
+        // entre a busca e o update, ele simplesmente não casa aqui.
+        mongoTemplate.updateMulti(
+                Query.query(new Criteria().andOperator(Criteria.where("id").in(ids), claimable(now))),
+                new Update()
+                        .set("status", OrderStatus.PROCESSING)
+                        .set("processingOwner", owner)
+                        .set("leaseId", leaseId)
+                        .set("leaseExpiresAt", now.plus(leaseDuration))
+                        .inc("version", 1),
+                Order.class);
+
+        final var claimed = Query.query(Criteria.where("leaseId").is(leaseId));
+        claimed.fields().include(PROCESSING_FIELDS);
+
+        return mongoTemplate.find(claimed, Order.class);
+    }
+
+    @Override
+    public List<Order> updateProcessingResults(final List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        final var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Order.class);
+        orders.forEach(order -> bulk.updateOne(
+                Query.query(Criteria.where("id").is(order.getId())
+                        .and("leaseId").is(order.getLeaseId())
+                        .and("version").is(order.getVersion())),
+                new Update()
+                        .set("status", order.getStatus())
+                        .set("totalAmount", order.getTotalAmount())
+                        .set("updateAt", order.getUpdateAt())
+                        .set("processingMessage", order.getProcessingMessage())
+                        .unset("processingOwner")
+                        .unset("leaseId")
+                        .unset("leaseExpiresAt")
+                        .inc("version", 1)));
+
+        if (bulk.execute().getMatchedCount() == orders.size()) {
+            return orders;
+        }
+        return findWritten(orders);
+    }
+
+    /**
+     * O bulk só informa quantos casaram. Um pedido foi gravado por esta instância se está na versão seguinte
+     * à da reivindicação e sem lease: quem o retomou teria deixado a mesma versão, mas com o próprio lease.
+     */
+    private List<Order> findWritten(final List<Order> orders) {
+        final var query = Query.query(Criteria.where("id").in(orders.stream().map(Order::getId).toList()));
+        query.fields().include("version", "leaseId");
+
+        final var current = mongoTemplate.find(query, Order.class).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        return orders.stream()
+                .filter(order -> {
+                    final var stored = current.get(order.getId());
+                    return stored != null
+                            && stored.getLeaseId() == null
+                            && stored.getVersion() != null
+                            && stored.getVersion() == order.getVersion() + 1;
+                })
+                .toList();
+    }
+
+    @Override
+    public List<Order> findPageByStatus(final OrderStatus status, final OrderPageCursor after, final int limit) {
+        return mongoTemplate.find(pageByStatus(status, after, limit), Order.class);
+    }
+
+    @Override
+    public List<OrderSummary> findSummaryPageByStatus(final OrderStatus status, final OrderPageCursor after, final int limit) {
+        final var query = pageByStatus(status, after, limit);
+        query.fields().include(OrderSummary.FIELDS);
+
+        return mongoTemplate.find(query, OrderSummary.class, mongoTemplate.getCollectionName(Order.class));
+    }
+
+    @Override
+    public Stream<Order> streamByStatus(final OrderStatus status) {
+        return mongoTemplate.stream(Query.query(Criteria.where("status").is(status)), Order.class);
+    }
+
+    @Override
+    public Stream<String> streamExternalIds() {
+        final var query = new Query();
+        query.fields().include("externalId");
+        return mongoTemplate.stream(query, Order.class).map(Order::getExternalId);
+    }
+
+    /**
+     * Os _id dos itens embutidos são gravados como ObjectId. A conversão é feita aqui, e não deixada ao
+     * mapeamento da consulta: se ela falhasse, nenhum item seria encontrado e a limpeza apagaria todos.
+     */
+    @Override
+    public List<Order> findItemReferences(final Collection<String> itemIds) {
+        final var ids = itemIds.stream()
+                .map(id -> ObjectId.isValid(id) ? new ObjectId(id) : id)
+                .toList();
+        final var query = Query.query(Criteria.where("items._id").in(ids));
+        query.fields().include("items._id");
+        return mongoTemplate.find(query, Order.class);
+    }
+
+    @Override
+    public List<Order> findArchivable(final LocalDateTime before, final OrderPageCursor after, final int limit) {
+        final var criteria = Criteria.where("status").in(OrderStatus.CALCULATED, OrderStatus.FAILED)
+                .and("createdAt").lt(before);
+
+        if (after != null) {
+            criteria.orOperator(
+                    Criteria.where("createdAt").gt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("id").gt(after.id()));
+        }
+
+        final var query = Query.query(criteria)
+                .with(Sort.by("createdAt", "id"))
+                .limit(limit);
+        return mongoTemplate.find(query, Order.class);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findOldestCreatedAt(final OrderStatus status) {
+        final var query = Query.query(Criteria.where("status").is(status))
+                .with(Sort.by("createdAt"))
+                .limit(1);
+        query.fields().include("createdAt");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Order.class)).map(Order::getCreatedAt);
+    }
+
+    private static Query pageByStatus(final OrderStatus status, final OrderPageCursor after, final int limit) {
+        final var criteria = Criteria.where("status").is(status);
+
+        if (after != null) {
+            criteria.orOperator(
+                    Criteria.where("createdAt").gt(after.createdAt()),
+                    Criteria.where("createdAt").is(after.createdAt()).and("id").gt(after.id()));
+        }
+
+        return Query.query(criteria)
+                .with(Sort.by("createdAt", "id"))
+                .limit(limit);
+    }
+
+    private static Criteria claimable(final LocalDateTime now) {
+        return new Criteria().orOperator(
+                Criteria.where("status").is(OrderStatus.RECEIVED),
+                Criteria.where("status").is(OrderStatus.PROCESSING).and("leaseExpiresAt").lt(now));
+    }
+}
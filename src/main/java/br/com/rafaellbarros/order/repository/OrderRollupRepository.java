@@ -0,0 +1,13 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.OrderRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.List;
+
+public interface OrderRollupRepository extends MongoRepository<OrderRollup, String>, OrderRollupRepositoryCustom {
+
+    @Query(value = "{ 'day': { $gte: ?0, $lte: ?1 } }", sort = "{ 'day': 1, 'status': 1 }")
+    List<OrderRollup> findByDayRange(String from, String to);
+}
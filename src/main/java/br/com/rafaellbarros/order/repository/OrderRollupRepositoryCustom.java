@@ -0,0 +1,22 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.OrderRollup;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface OrderRollupRepositoryCustom {
+
+    /**
+     * Soma cada delta ao rollup do mesmo dia e status com $inc, criando o documento se ainda não existir.
+     * Tudo vai em uma única operação bulk não ordenada.
+     */
+    void increment(Collection<OrderRollup> deltas);
+
+    /**
+     * Recalcula os rollups dos dias anteriores a {@code before} a partir de orders e orders_archive, com um pipeline
+     * de agregação terminado em $merge que substitui apenas esses dias. {@code before} deve ser um dia sem pedidos
+     * ainda por processar antes dele, para que nenhum $inc concorrente caia em um dia recalculado.
+     */
+    void rebuild(LocalDate before);
+}
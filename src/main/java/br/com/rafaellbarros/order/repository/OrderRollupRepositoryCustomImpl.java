@@ -0,0 +1,96 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderRollup;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.MergeOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OrderRollupRepositoryCustomImpl implements OrderRollupRepositoryCustom {
+
+    static final String COLLECTION = "order_rollups";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void increment(final Collection<OrderRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        final var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderRollup.class);
+        deltas.forEach(delta -> bulk.upsert(
+                Query.query(Criteria.where("id").is(delta.getId())),
+                new Update()
+                        .setOnInsert("day", delta.getDay())
+                        .setOnInsert("status", delta.getStatus())
+                        .inc("orders", delta.getOrders())
+                        .inc("items", delta.getItems())
+                        // Decimal128 explícito: o $inc precisa de um número, não do BigDecimal como texto.
+                        .inc("totalAmount", new Decimal128(delta.getTotalAmount()))));
+        bulk.execute();
+    }
+
+    @Override
+    public void rebuild(final LocalDate before) {
+        // Mesmo dia que createdAt.toLocalDate() no incremento: o Mongo guarda o instante em UTC.
+        final var day = new Document("$dateToString", new Document("format", "%Y-%m-%d")
+                .append("date", "$createdAt")
+                .append("timezone", timezone(ZoneId.systemDefault())));
+
+        // Mesmo instante que o LocalDateTime gravado pelo conversor, que usa o fuso do sistema.
+        final var closed = Date.from(before.atStartOfDay(ZoneId.systemDefault()).toInstant());
+        final var terminal = new Document("$match", new Document("status",
+                new Document("$in", List.of(OrderStatus.CALCULATED.name(), OrderStatus.FAILED.name())))
+                .append("createdAt", new Document("$lt", closed)));
+
+        final var aggregation = Aggregation.newAggregation(
+                Aggregation.stage(terminal),
+                // Os pedidos arquivados continuam nos totais de seus dias.
+                Aggregation.stage(new Document("$unionWith", new Document("coll", OrderArchiveRepository.COLLECTION)
+                        .append("pipeline", List.of(terminal)))),
+                Aggregation.stage(new Document("$group", new Document("_id",
+                        new Document("$concat", List.of(day, ":", "$status")))
+                        .append("day", new Document("$first", day))
+                        .append("status", new Document("$first", "$status"))
+                        .append("orders", new Document("$sum", 1L))
+                        .append("items", new Document("$sum",
+                                new Document("$size", new Document("$ifNull", List.of("$items", List.of())))))
+                        // totalAmount é gravado como texto em orders; $toDecimal evita somar strings.
+                        .append("totalAmount", new Document("$sum", new Document("$toDecimal",
+                                new Document("$ifNull", List.of("$totalAmount", "0"))))))),
+                // Substitui só os dias recalculados; os demais seguem com os incrementos do processador.
+                Aggregation.merge()
+                        .intoCollection(COLLECTION)
+                        .on("_id")
+                        .whenMatched(MergeOperation.WhenDocumentsMatch.replaceDocument())
+                        .whenDocumentsDontMatch(MergeOperation.WhenDocumentsDontMatch.insertNewDocument())
+                        .build());
+
+        mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(Order.class), Document.class);
+    }
+
+    private static String timezone(final ZoneId zone) {
+        final var normalized = zone.normalized();
+        if (normalized instanceof ZoneOffset offset) {
+            return offset.equals(ZoneOffset.UTC) ? "+00:00" : offset.getId();
+        }
+        return normalized.getId();
+    }
+}
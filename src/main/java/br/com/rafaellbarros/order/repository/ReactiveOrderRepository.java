@@ -0,0 +1,13 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveOrderRepository extends ReactiveMongoRepository<Order, String> {
+    Mono<Order> findByExternalId(String externalId);
+
+    Flux<Order> findByStatusOrderByCreatedAtAscIdAsc(OrderStatus status);
+}
@@ -0,0 +1,169 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa criações individuais ({@code POST /v1/orders}) que chegam juntas: o primeiro pedido espera até
+ * {@code window} ou até {@code max-batch} pedidos, e o grupo é gravado com {@link OrderService#createChunk}.
+ * Cada requisição recebe o próprio resultado: o pedido criado, 409 para duplicado ou 400 para inválido.
+ * <p>
+ * Desligado, parado ou com a fila cheia, o pedido segue direto para {@link OrderService#createOrder}.
+ */
+@Service
+public class OrderCreateCoalescer implements SmartLifecycle {
+
+    private final OrderService orderService;
+    private final OrderProperties.Coalescing settings;
+    private final BlockingQueue<PendingCreate> pending;
+    private final DistributionSummary batchFill;
+    private final Timer waitTimer;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+
+    public OrderCreateCoalescer(OrderService orderService, OrderProperties properties, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.settings = properties.getCreate().getCoalescing();
+        this.pending = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+        this.batchFill = DistributionSummary.builder("order_create_coalescer_batch_size")
+                .description("Pedidos gravados por inserção agrupada")
+                .publishPercentileHistogram()
+                .maximumExpectedValue((double) Math.max(1, settings.getMaxBatch()))
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("order_create_coalescer_wait_seconds")
+                .description("Tempo que cada pedido esperou até o grupo ser gravado")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Order createOrder(final Order request) {
+        if (!running) {
+            return orderService.createOrder(request);
+        }
+
+        final var create = new PendingCreate(request, System.nanoTime(), new CompletableFuture<>());
+        if (!pending.offer(create)) {
+            return orderService.createOrder(request);
+        }
+        // parado entre a verificação e o offer: se o flusher não pegou o pedido, ele segue sozinho
+        if (!running && pending.remove(create)) {
+            return orderService.createOrder(request);
+        }
+
+        return toOrder(await(create.result()));
+    }
+
+    @Override
+    public void start() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        running = true;
+        flusher = Thread.ofPlatform().daemon().name("order-create-coalescer").start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        final var thread = flusher;
+        if (thread != null) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flusher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        final int maxBatch = Math.max(1, settings.getMaxBatch());
+        final long window = settings.getWindow().toNanos();
+        final var batch = new ArrayList<PendingCreate>(maxBatch);
+
+        while (running || !pending.isEmpty()) {
+            try {
+                final var first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                final long deadline = first.enqueuedAt() + window;
+                while (batch.size() < maxBatch) {
+                    final var next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(final List<PendingCreate> batch) {
+        final long now = System.nanoTime();
+        batch.forEach(create -> waitTimer.record(now - create.enqueuedAt(), TimeUnit.NANOSECONDS));
+        batchFill.record(batch.size());
+
+        try {
+            final var results = orderService.createChunk(batch.stream().map(PendingCreate::request).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException ex) {
+            batch.forEach(create -> create.result().completeExceptionally(ex));
+        }
+    }
+
+    private static OrderCreationResult await(final CompletableFuture<OrderCreationResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static Order toOrder(final OrderCreationResult result) {
+        return switch (result.status()) {
+            case CREATED -> result.order();
+            case DUPLICATE -> throw new ResponseStatusException(HttpStatus.CONFLICT, result.reason());
+            case INVALID -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, result.reason());
+        };
+    }
+
+    private record PendingCreate(Order request, long enqueuedAt, CompletableFuture<OrderCreationResult> result) {
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.logger.OrderLogger;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Exporta pedidos em NDJSON escrevendo cada documento na resposta à medida que o cursor do Mongo o entrega,
+ * sem montar a lista em memória.
+ */
+@Service
+public class OrderExportService {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final OrderRepository orderRepository;
+    private final OrderLogger orderLogger;
+    private final ObjectWriter orderWriter;
+
+    public OrderExportService(OrderRepository orderRepository, OrderLogger orderLogger, ObjectMapper objectMapper) {
+        this.orderRepository = orderRepository;
+        this.orderLogger = orderLogger;
+        this.orderWriter = objectMapper.writerFor(Order.class)
+                .without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    public void exportByStatus(final OrderStatus status, final OutputStream output) throws IOException {
+        orderLogger.searchByStatus(status);
+
+        try (var orders = orderRepository.streamByStatus(status)) {
+            final var iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                output.write(orderWriter.writeValueAsBytes(iterator.next()));
+                output.write(NEW_LINE);
+            }
+        }
+
+        output.flush();
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.logger.OrderLogger;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ingestão de pedidos em NDJSON: lê um pedido por vez do corpo da requisição, grava em blocos
+ * enquanto o upload ainda chega e devolve uma linha de resultado por pedido ao fim de cada bloco.
+ */
+@Service
+public class OrderIngestService {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final OrderService orderService;
+    private final OrderLogger orderLogger;
+    private final ObjectReader orderReader;
+    private final ObjectWriter resultWriter;
+    private final int chunkSize;
+
+    public OrderIngestService(OrderService orderService,
+                              OrderLogger orderLogger,
+                              ObjectMapper objectMapper,
+                              OrderProperties properties) {
+        this.orderService = orderService;
+        this.orderLogger = orderLogger;
+        this.orderReader = objectMapper.readerFor(Order.class);
+        this.resultWriter = objectMapper.writerFor(OrderCreationResult.class)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        this.chunkSize = properties.getBatch().getChunkSize();
+    }
+
+    public void ingest(final InputStream input, final OutputStream output) throws IOException {
+        final var chunk = new ArrayList<Order>(chunkSize);
+        long read = 0;
+        long created = 0;
+
+        try (MappingIterator<Order> orders = orderReader.readValues(input)) {
+            while (true) {
+                try {
+                    if (!orders.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(orders.nextValue());
+                    read++;
+                } catch (JsonMappingException ex) {
+                    // O valor é JSON válido mas não é um pedido: o iterador se ressincroniza no próximo.
+                    read++;
+                    created += flush(chunk, output);
+                    write(OrderCreationResult.invalid(null, "Linha " + lineOf(ex) + ": " + ex.getOriginalMessage()), output);
+                    continue;
+                } catch (JsonParseException ex) {
+                    created += flush(chunk, output);
+                    write(OrderCreationResult.invalid(null, "Linha " + lineOf(ex) + ": " + ex.getOriginalMessage()), output);
+                    break;
+                }
+
+                if (chunk.size() == chunkSize) {
+                    created += flush(chunk, output);
+                }
+            }
+        }
+
+        created += flush(chunk, output);
+        orderLogger.ingested(read, created);
+    }
+
+    private long flush(final List<Order> chunk, final OutputStream output) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        final var results = orderService.createChunk(chunk);
+        chunk.clear();
+
+        for (OrderCreationResult result : results) {
+            write(result, output);
+        }
+        output.flush();
+
+        return results.stream().filter(OrderCreationResult::isCreated).count();
+    }
+
+    private void write(final OrderCreationResult result, final OutputStream output) throws IOException {
+        output.write(resultWriter.writeValueAsBytes(result));
+        output.write(NEW_LINE);
+    }
+
+    private static int lineOf(final JsonProcessingException ex) {
+        return ex.getLocation() != null ? ex.getLocation().getLineNr() : -1;
+    }
+}
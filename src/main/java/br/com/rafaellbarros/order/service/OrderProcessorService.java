@@ -1,18 +1,23 @@
 package br.com.rafaellbarros.order.service;
 
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
 import br.com.rafaellbarros.order.domain.Order;
 import br.com.rafaellbarros.order.domain.OrderStatus;
 import br.com.rafaellbarros.order.logger.OrderProcessorLogger;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
 @Slf4j
 @Service
@@ -22,27 +27,82 @@ public class OrderProcessorService {
     private final Counter errorCounter;
     private final Timer processingTimer;
     private final OrderProcessorLogger logger;
+    private final ProcessingEngine engine;
+    private final int parallelism;
+    private final ExecutorService executor;
 
-    public OrderProcessorService(MeterRegistry meterRegistry, OrderProcessorLogger logger) {
+    public OrderProcessorService(MeterRegistry meterRegistry, OrderProcessorLogger logger, OrderProperties properties) {
         this.successCounter = meterRegistry.counter("order_processor_processed_total");
         this.errorCounter = meterRegistry.counter("order_processor_errors_total");
         this.processingTimer = Timer.builder("order_processor_duration_seconds")
                 .description("Duração do processamento dos pedidos")
                 .register(meterRegistry);
         this.logger = logger;
+        this.engine = properties.getProcessor().getEngine();
+        this.parallelism = Math.max(1, properties.getProcessor().getParallelism());
+        this.executor = switch (engine) {
+            case SEQUENTIAL -> null;
+            case FORK_JOIN -> new ForkJoinPool(parallelism);
+            case VIRTUAL_THREADS -> Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("order-processor-", 0).factory());
+        };
     }
 
+    /**
+     * Os contadores e o timer do Micrometer são thread-safe e cada pedido só é alterado pela
+     * tarefa que o calcula, então o mesmo fluxo vale para os três motores. O timer mede o bloco inteiro.
+     */
     public List<Order> processOrders(List<Order> orders) {
-        return processingTimer.record(() ->
-                orders.stream()
-                        .map(this::processOrderSafely)
-                        .toList()
-        );
+        return processingTimer.record(() -> {
+            if (executor == null || parallelism == 1 || orders.size() < 2) {
+                return processSequentially(orders);
+            }
+
+            return switch (engine) {
+                case FORK_JOIN -> CompletableFuture.supplyAsync(() ->
+                        orders.parallelStream()
+                                .map(this::processOrderSafely)
+                                .toList(), executor).join();
+                case VIRTUAL_THREADS -> processInSlices(orders);
+                case SEQUENTIAL -> processSequentially(orders);
+            };
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    private List<Order> processSequentially(List<Order> orders) {
+        return orders.stream()
+                .map(this::processOrderSafely)
+                .toList();
+    }
+
+    /**
+     * Divide o bloco em no máximo {@code parallelism} fatias contíguas, uma por virtual thread,
+     * preservando a ordem original no resultado.
+     */
+    private List<Order> processInSlices(List<Order> orders) {
+        final int sliceSize = (orders.size() + parallelism - 1) / parallelism;
+        final var slices = new ArrayList<CompletableFuture<List<Order>>>(parallelism);
+
+        for (int from = 0; from < orders.size(); from += sliceSize) {
+            final var slice = orders.subList(from, Math.min(from + sliceSize, orders.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> processSequentially(slice), executor));
+        }
+
+        final var processed = new ArrayList<Order>(orders.size());
+        slices.forEach(slice -> processed.addAll(slice.join()));
+        return processed;
     }
 
     private Order processOrderSafely(Order order) {
         try {
-            var totalAmount = calculateTotalAmount(order);
+            var totalAmount = OrderTotalCalculator.calculate(order.getItems());
 
             order.setTotalAmount(totalAmount);
             order.setStatus(OrderStatus.CALCULATED);
@@ -63,11 +123,4 @@ public class OrderProcessorService {
 
         return order;
     }
-
-    private BigDecimal calculateTotalAmount(Order order) {
-        return order.getItems().stream()
-                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .setScale(2, RoundingMode.HALF_UP);
-    }
-}
\ No newline at end of file
+}
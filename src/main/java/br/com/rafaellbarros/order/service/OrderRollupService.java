@@ -0,0 +1,86 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderReport;
+import br.com.rafaellbarros.order.domain.OrderRollup;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.repository.OrderRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OrderRollupService {
+
+    private final OrderRollupRepository rollupRepository;
+    private final OrderProperties properties;
+
+    /**
+     * Soma os pedidos já gravados aos rollups do dia e status de cada um, com um $inc por par
+     * (dia, status) do bloco.
+     */
+    public void record(final Collection<Order> processedOrders) {
+        final var deltas = new LinkedHashMap<String, OrderRollup>();
+
+        for (final var order : processedOrders) {
+            if (order.getCreatedAt() == null || order.getStatus() == null) {
+                continue;
+            }
+            final var day = order.getCreatedAt().toLocalDate();
+            final var delta = deltas.computeIfAbsent(OrderRollup.idOf(day, order.getStatus()), id -> OrderRollup.builder()
+                    .id(id)
+                    .day(day.toString())
+                    .status(order.getStatus())
+                    .totalAmount(BigDecimal.ZERO)
+                    .build());
+
+            delta.setOrders(delta.getOrders() + 1);
+            delta.setItems(delta.getItems() + (order.getItems() == null ? 0 : order.getItems().size()));
+            if (order.getTotalAmount() != null) {
+                delta.setTotalAmount(delta.getTotalAmount().add(order.getTotalAmount()));
+            }
+        }
+
+        rollupRepository.increment(deltas.values());
+    }
+
+    /**
+     * Lê apenas os rollups do período: o custo depende do número de dias, não do tamanho de orders.
+     */
+    public OrderReport report(final LocalDate from, final LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data inicial posterior à data final");
+        }
+        final int maxRangeDays = properties.getRollups().getMaxRangeDays();
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxRangeDays) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Período máximo do relatório é de " + maxRangeDays + " dias");
+        }
+
+        final var days = rollupRepository.findByDayRange(from.toString(), to.toString());
+        return new OrderReport(from, to, days, totals(days));
+    }
+
+    private static List<OrderReport.Totals> totals(final List<OrderRollup> days) {
+        final var byStatus = new EnumMap<OrderStatus, OrderReport.Totals>(OrderStatus.class);
+        for (final var day : days) {
+            final var amount = day.getTotalAmount() == null ? BigDecimal.ZERO : day.getTotalAmount();
+            byStatus.merge(day.getStatus(),
+                    new OrderReport.Totals(day.getStatus(), day.getOrders(), day.getItems(), amount),
+                    (a, b) -> new OrderReport.Totals(a.status(), a.orders() + b.orders(), a.items() + b.items(),
+                            a.totalAmount().add(b.totalAmount())));
+        }
+        return List.copyOf(byStatus.values());
+    }
+}
@@ -1,20 +1,42 @@
 package br.com.rafaellbarros.order.service;
 
+import br.com.rafaellbarros.order.cache.ExternalIdBloomFilter;
+import br.com.rafaellbarros.order.cache.OrderCache;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.ItemPersistence;
 import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.domain.OrderPage;
+import br.com.rafaellbarros.order.domain.OrderPageCursor;
 import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.domain.OrderSummary;
+import br.com.rafaellbarros.order.domain.OrdersReceivedEvent;
 import br.com.rafaellbarros.order.factory.OrderFactory;
 import br.com.rafaellbarros.order.logger.OrderLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
 import br.com.rafaellbarros.order.repository.OrderItemRepository;
 import br.com.rafaellbarros.order.repository.OrderRepository;
+import br.com.rafaellbarros.order.validation.OrderValidator;
+import com.mongodb.bulk.BulkWriteError;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -22,77 +44,133 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
     private final OrderFactory orderFactory;
     private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
     private final OrderItemRepository orderItemRepository;
     private final OrderLogger orderLogger;
+    private final OrderCache orderCache;
+    private final ExternalIdBloomFilter knownExternalIds;
+    private final OrderStatusCounters statusCounters;
+    private final OrderValidator orderValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderProperties properties;
 
     public Order createOrder(final Order request) {
 
-        validateDuplicated(request);
-
-        var savedItems = orderItemRepository.saveAll(request.getItems());
-        orderLogger.sevedItems(savedItems);
-        request.setItems(savedItems);
+        if (!properties.getCreate().isInsertFirst()) {
+            validateDuplicated(request);
+        } else {
+            validateNotArchived(request);
+        }
 
         var order = orderFactory.createFrom(request);
-        var savedOrder = orderRepository.save(order);
+        assignItemIds(List.of(order));
+        var savedOrder = insert(order);
+        knownExternalIds.put(savedOrder.getExternalId());
+        statusCounters.received(1);
         orderLogger.saved(savedOrder);
+        saveItems(List.of(savedOrder));
+        eventPublisher.publishEvent(new OrdersReceivedEvent(List.of(savedOrder.getId())));
 
         return savedOrder;
     }
 
 
-    public List<Order> createOrders(final List<Order> requests) {
+    public List<OrderCreationResult> createOrders(final List<Order> requests) {
 
         if (CollectionUtils.isEmpty(requests)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Lista de pedidos não pode estar vazia");
         }
 
-        var validOrders = requests.stream()
-                .map(this::createFromIfValid)
-                .flatMap(Optional::stream)
-                .toList();
+        final var chunkSize = properties.getBatch().getChunkSize();
+        final var results = new ArrayList<OrderCreationResult>(requests.size());
 
-        if (validOrders.isEmpty()) {
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            results.addAll(createChunk(requests.subList(from, Math.min(from + chunkSize, requests.size()))));
+        }
+
+        if (results.stream().noneMatch(OrderCreationResult::isCreated)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Nenhum pedido válido para processar");
         }
 
-        var savedOrders = orderRepository.saveAll(validOrders);
-        orderLogger.savedOrders(savedOrders);
-        return savedOrders;
+        return results;
     }
 
+    /**
+     * Cria um bloco de pedidos com custo fixo de round trips: uma consulta $in para os duplicados,
+     * uma inserção bulk não ordenada dos pedidos e, no modo COLLECTION, uma inserção dos itens
+     * dos pedidos que foram de fato gravados.
+     *
+     * @return um resultado por pedido, na mesma ordem da lista recebida
+     */
+    public List<OrderCreationResult> createChunk(final List<Order> requests) {
+        final var results = new OrderCreationResult[requests.size()];
+        final var existing = findExistingExternalIds(requests);
+        final var seen = new HashSet<String>();
+        final var accepted = new ArrayList<Order>();
+        final var acceptedPositions = new ArrayList<Integer>();
 
-    public Optional<Order> createFromIfValid(final Order request) {
-        try {
-            if (orderRepository.findByExternalId(request.getExternalId()).isPresent()) {
-                orderLogger.duplicatedIgnored(request.getExternalId());
-                return Optional.empty();
+        for (int i = 0; i < requests.size(); i++) {
+            final var request = requests.get(i);
+            final var externalId = request != null ? request.getExternalId() : null;
+            final var invalidReason = orderValidator.validate(request);
+
+            if (invalidReason.isPresent()) {
+                orderLogger.invalidIgnored(externalId, invalidReason.get());
+                results[i] = OrderCreationResult.invalid(externalId, invalidReason.get());
+            } else if (existing.contains(externalId) || !seen.add(externalId)) {
+                orderLogger.duplicatedIgnored(externalId);
+                results[i] = OrderCreationResult.duplicate(externalId);
+            } else {
+                accepted.add(orderFactory.createFrom(request));
+                acceptedPositions.add(i);
             }
+        }
 
-            final var savedItems = orderItemRepository.saveAll(request.getItems());
-            orderLogger.sevedItems(savedItems);
+        assignItemIds(accepted);
 
-            request.setItems(savedItems);
+        final var errors = orderRepository.insertUnordered(accepted).stream()
+                .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+        final var savedOrders = new ArrayList<Order>(accepted.size());
 
-            final var orderCreated = orderFactory.createFrom(request);
+        for (int j = 0; j < accepted.size(); j++) {
+            final var order = accepted.get(j);
+            final var error = errors.get(j);
+            final int position = acceptedPositions.get(j);
 
-            return Optional.of(orderCreated);
+            if (error == null) {
+                savedOrders.add(order);
+                results[position] = OrderCreationResult.created(order);
+            } else if (error.getCode() == DUPLICATE_KEY_ERROR) {
+                orderLogger.duplicatedIgnored(order.getExternalId());
+                results[position] = OrderCreationResult.duplicate(order.getExternalId());
+            } else {
+                orderLogger.invalidIgnored(order.getExternalId(), error.getMessage());
+                results[position] = OrderCreationResult.invalid(order.getExternalId(), error.getMessage());
+            }
+        }
 
-        } catch (ResponseStatusException ex) {
-            orderLogger.invalidIgnored(request.getExternalId(), ex.getReason());
-            return Optional.empty();
+        savedOrders.forEach(order -> knownExternalIds.put(order.getExternalId()));
+        statusCounters.received(savedOrders.size());
 
-        } catch (RuntimeException ex) {
-            orderLogger.invalidIgnored(request.getExternalId(), "Erro inesperado: " + ex.getClass().getSimpleName());
-            return Optional.empty();
+        if (!savedOrders.isEmpty()) {
+            orderLogger.savedOrders(savedOrders);
+            saveItems(savedOrders);
+            eventPublisher.publishEvent(new OrdersReceivedEvent(savedOrders.stream().map(Order::getId).toList()));
         }
-    }
 
+        return Arrays.asList(results);
+    }
 
+    /**
+     * Procura primeiro em orders e, não achando, em orders_archive.
+     */
     public Optional<Order> getOrderByExternalId(final String id) {
-        return orderRepository.findByExternalId(id)
+        return orderCache.get(id, () -> orderRepository.findByExternalId(id)
+                        .or(() -> orderArchiveRepository.findByExternalId(id)))
                 .map(order -> {
                     orderLogger.searchByExternalId(id);
                     orderLogger.found(order.getId());
@@ -101,17 +179,162 @@ public class OrderService {
     }
 
 
-    public List<Order> getOrdersByStatus(final OrderStatus status) {
+    /**
+     * Paginação por chave (createdAt, id): cada página é uma consulta por índice a partir do cursor,
+     * com custo independente da posição, ao contrário de skip/limit.
+     *
+     * @param cursor cursor devolvido na página anterior, ou nulo para a primeira página
+     * @param limit  tamanho da página, limitado a order.query.max-page-size
+     */
+    public OrderPage<Order> getOrdersByStatus(final OrderStatus status, final String cursor, final Integer limit) {
+        orderLogger.searchByStatus(status);
+
+        final var pageSize = pageSize(limit);
+        final var orders = orderRepository.findPageByStatus(status, decodeCursor(cursor), pageSize);
+        final var nextCursor = orders.size() < pageSize
+                ? null
+                : OrderPageCursor.after(orders.get(orders.size() - 1)).encode();
+
+        return new OrderPage<>(orders, nextCursor);
+    }
+
+    /**
+     * Mesma paginação de {@link #getOrdersByStatus}, com os pedidos lidos já resumidos do Mongo.
+     */
+    public OrderPage<OrderSummary> getOrderSummariesByStatus(final OrderStatus status, final String cursor, final Integer limit) {
         orderLogger.searchByStatus(status);
-        return orderRepository.findByStatus(status);
+
+        final var pageSize = pageSize(limit);
+        final var orders = orderRepository.findSummaryPageByStatus(status, decodeCursor(cursor), pageSize);
+        final var nextCursor = orders.size() < pageSize
+                ? null
+                : OrderPageCursor.after(orders.get(orders.size() - 1)).encode();
+
+        return new OrderPage<>(orders, nextCursor);
+    }
+
+    private int pageSize(final Integer limit) {
+        final var query = properties.getQuery();
+        if (limit == null) {
+            return query.getDefaultPageSize();
+        }
+        return Math.max(1, Math.min(limit, query.getMaxPageSize()));
+    }
+
+    private OrderPageCursor decodeCursor(final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return OrderPageCursor.decode(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido: " + cursor);
+        }
+    }
+
+    /**
+     * O filtro de Bloom só conhece o que esta réplica viu, então ele poupa apenas a consulta a orders, cujo
+     * índice único pega o que escapar. O arquivo não tem essa rede e é sempre consultado, pelo índice de
+     * externalId, para o que não apareceu em orders.
+     */
+    private Set<String> findExistingExternalIds(final List<Order> requests) {
+        final var externalIds = requests.stream()
+                .filter(Objects::nonNull)
+                .map(Order::getExternalId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        if (externalIds.isEmpty()) {
+            return Set.of();
+        }
+
+        final var candidates = externalIds.stream()
+                .filter(knownExternalIds::mightContain)
+                .collect(Collectors.toSet());
+        final var existing = candidates.isEmpty()
+                ? new HashSet<String>()
+                : orderRepository.findExternalIdsIn(candidates).stream()
+                        .map(Order::getExternalId)
+                        .collect(Collectors.toCollection(HashSet::new));
+
+        if (properties.getArchive().isEnabled() && existing.size() < externalIds.size()) {
+            existing.addAll(orderArchiveRepository.findExternalIdsIn(externalIds.stream()
+                    .filter(externalId -> !existing.contains(externalId))
+                    .toList()));
+        }
+        knownExternalIds.recordFalsePositives(candidates.stream().filter(id -> !existing.contains(id)).count());
+        return existing;
+    }
+
+    /**
+     * Os ids dos itens são gerados antes da inserção do pedido para que a cópia em order_items,
+     * gravada só depois que o pedido existe, tenha os mesmos ids dos itens embutidos.
+     */
+    private void assignItemIds(final List<Order> orders) {
+        if (properties.getItems().getPersistence() != ItemPersistence.COLLECTION) {
+            return;
+        }
+
+        orders.stream()
+                .flatMap(order -> order.getItems().stream())
+                .filter(item -> item.getId() == null)
+                .forEach(item -> item.setId(ObjectId.get().toHexString()));
+    }
+
+    private void saveItems(final List<Order> savedOrders) {
+        if (properties.getItems().getPersistence() != ItemPersistence.COLLECTION) {
+            return;
+        }
+
+        final var items = savedOrders.stream()
+                .flatMap(order -> order.getItems().stream())
+                .toList();
+
+        if (!items.isEmpty()) {
+            orderLogger.sevedItems(orderItemRepository.insert(items));
+        }
     }
 
     private void validateDuplicated(Order request) {
-        orderRepository.findByExternalId(request.getExternalId())
-                .ifPresent(o -> {
-                    orderLogger.duplicated(request.getExternalId());
-                    throw new ResponseStatusException(HttpStatus.CONFLICT, "Pedido duplicado externalId: " + request.getExternalId());
-                });
+        final var externalId = request.getExternalId();
+        final boolean mightExist = knownExternalIds.mightContain(externalId);
+
+        if (mightExist && orderRepository.findByExternalId(externalId).isPresent()) {
+            throw duplicated(externalId);
+        }
+        validateNotArchived(request);
+        if (mightExist) {
+            knownExternalIds.recordFalsePositives(1);
+        }
+    }
+
+    /**
+     * O índice único de orders pega os duplicados, mas não os já arquivados. Com o arquivamento ligado, o
+     * arquivo é consultado mesmo quando o filtro de Bloom descarta o externalId: o filtro é desta réplica e
+     * não viu o que as outras criaram e arquivaram.
+     */
+    private void validateNotArchived(final Order request) {
+        if (properties.getArchive().isEnabled()
+                && orderArchiveRepository.existsByExternalId(request.getExternalId())) {
+            throw duplicated(request.getExternalId());
+        }
+    }
+
+    /**
+     * O índice único de externalId é a garantia final contra duplicados: mesmo no modo com
+     * consulta prévia, duas requisições concorrentes podem passar pela verificação.
+     */
+    private Order insert(final Order order) {
+        try {
+            return orderRepository.insert(order);
+        } catch (DuplicateKeyException ex) {
+            throw duplicated(order.getExternalId());
+        }
+    }
+
+    private ResponseStatusException duplicated(final String externalId) {
+        orderLogger.duplicated(externalId);
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Pedido duplicado externalId: " + externalId);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStats;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Quantidade de pedidos por status, mantida em memória a cada transição gravada por esta instância.
+ * Os contadores são semeados com countByStatus ao subir a aplicação e reconciliados periodicamente,
+ * o que corrige o que se perdeu em quedas e as transições feitas por outras instâncias.
+ * <p>
+ * Cada instância guarda a sua visão do total global: o gauge {@code order_status_count} de réplicas diferentes
+ * não deve ser somado, e sim lido de uma delas (max ou avg por status).
+ */
+@Component
+public class OrderStatusCounters {
+
+    private final OrderRepository orderRepository;
+    private final OrderMaintenanceLogger logger;
+    private final Map<OrderStatus, LongAdder> counters = new EnumMap<>(OrderStatus.class);
+
+    private volatile Instant reconciledAt;
+
+    public OrderStatusCounters(OrderRepository orderRepository, OrderMaintenanceLogger logger, MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.logger = logger;
+        for (final var status : OrderStatus.values()) {
+            final var counter = new LongAdder();
+            counters.put(status, counter);
+            Gauge.builder("order_status_count", counter, LongAdder::sum)
+                    .description("Total global de pedidos por status na visão desta instância; não somar entre réplicas")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void received(final int count) {
+        counters.get(OrderStatus.RECEIVED).add(count);
+    }
+
+    public void transition(final OrderStatus from, final OrderStatus to, final int count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        counters.get(from).add(-count);
+        counters.get(to).add(count);
+    }
+
+    /**
+     * Pedidos gravados pelo processador: saem de PROCESSING para o status calculado de cada um.
+     */
+    public void processed(final Collection<Order> orders) {
+        orders.forEach(order -> transition(OrderStatus.PROCESSING, order.getStatus(), 1));
+    }
+
+    /**
+     * Pedidos que saíram de orders para o arquivo.
+     */
+    public void archived(final Collection<Order> orders) {
+        orders.forEach(order -> counters.get(order.getStatus()).decrement());
+    }
+
+    public OrderStats snapshot() {
+        final var counts = new EnumMap<OrderStatus, Long>(OrderStatus.class);
+        counters.forEach((status, counter) -> counts.put(status, counter.sum()));
+        return new OrderStats(counts, counts.values().stream().mapToLong(Long::longValue).sum(), reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Ajusta cada contador pela diferença para o Mongo, sem zerar: transições concorrentes à contagem
+     * não se perdem, no máximo ficam para a próxima reconciliação.
+     */
+    @Scheduled(fixedDelayString = "${order.stats.reconcile-interval:5m}",
+            initialDelayString = "${order.stats.reconcile-interval:5m}")
+    public void reconcile() {
+        long drift = 0;
+        for (final var status : OrderStatus.values()) {
+            final var counter = counters.get(status);
+            final long difference = orderRepository.countByStatus(status) - counter.sum();
+            counter.add(difference);
+            drift += Math.abs(difference);
+        }
+        reconciledAt = Instant.now();
+        logger.statusCountersReconciled(drift);
+    }
+}
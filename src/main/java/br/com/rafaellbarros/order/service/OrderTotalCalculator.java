@@ -0,0 +1,92 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Total do pedido: soma de {@code preço * quantidade} arredondada para 2 casas com HALF_UP.
+ * <p>
+ * O caminho rápido acumula em um {@code long} na maior escala entre os preços (no mínimo centavos), sem
+ * criar um BigDecimal por item nem montar um stream. Se a soma estourar o {@code long}, algum preço tiver
+ * mais de 18 dígitos ou escala fora de 0..18, ou faltar preço/quantidade, o cálculo é refeito com {@link #calculateWithBigDecimal}, que é a referência;
+ * os dois caminhos devolvem exatamente o mesmo BigDecimal (valor e escala).
+ */
+public final class OrderTotalCalculator {
+
+    private static final int SCALE = 2;
+    private static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private OrderTotalCalculator() {
+    }
+
+    public static BigDecimal calculate(final List<OrderItem> items) {
+        final int scale = commonScale(items);
+        if (scale < 0) {
+            return calculateWithBigDecimal(items);
+        }
+
+        try {
+            long sum = 0;
+            for (OrderItem item : items) {
+                final var price = item.getPrice();
+                final long unscaled = price.unscaledValue().longValue();
+                final long scaled = Math.multiplyExact(unscaled, POWERS_OF_TEN[scale - price.scale()]);
+                sum = Math.addExact(sum, Math.multiplyExact(scaled, (long) item.getQuantity()));
+            }
+            return BigDecimal.valueOf(roundHalfUp(sum, scale), SCALE);
+        } catch (ArithmeticException overflow) {
+            return calculateWithBigDecimal(items);
+        }
+    }
+
+    public static BigDecimal calculateWithBigDecimal(final List<OrderItem> items) {
+        return items.stream()
+                .map(item -> item.getPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Maior escala entre os preços, no mínimo {@value #SCALE}, ou -1 quando o caminho rápido não se aplica.
+     */
+    private static int commonScale(final List<OrderItem> items) {
+        if (items == null) {
+            return -1;
+        }
+
+        int scale = SCALE;
+        for (OrderItem item : items) {
+            final var price = item.getPrice();
+            if (price == null || item.getQuantity() == null
+                    || price.scale() < 0 || price.scale() > MAX_SCALE
+                    || price.precision() > MAX_SCALE) {
+                return -1;
+            }
+            scale = Math.max(scale, price.scale());
+        }
+        return scale;
+    }
+
+    private static long roundHalfUp(final long value, final int scale) {
+        if (scale == SCALE) {
+            return value;
+        }
+
+        final long divisor = POWERS_OF_TEN[scale - SCALE];
+        final long quotient = value / divisor;
+        final long remainder = Math.abs(value % divisor);
+        return remainder * 2 >= divisor ? quotient + Long.signum(value) : quotient;
+    }
+}
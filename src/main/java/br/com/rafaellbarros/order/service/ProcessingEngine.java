@@ -0,0 +1,5 @@
+package br.com.rafaellbarros.order.service;
+
+public enum ProcessingEngine {
+    SEQUENTIAL, FORK_JOIN, VIRTUAL_THREADS
+}
@@ -0,0 +1,179 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.cache.ExternalIdBloomFilter;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.ItemPersistence;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.domain.OrdersReceivedEvent;
+import br.com.rafaellbarros.order.factory.OrderFactory;
+import br.com.rafaellbarros.order.logger.OrderLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
+import br.com.rafaellbarros.order.repository.ReactiveOrderRepository;
+import br.com.rafaellbarros.order.validation.OrderValidator;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mesmas regras do {@link OrderService}, sobre o driver reativo: nenhuma chamada bloqueia a thread do
+ * servidor e os lotes são consumidos sob demanda, com no máximo {@code order.reactive.concurrency}
+ * inserções em andamento.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "order.reactive", name = "enabled", havingValue = "true")
+public class ReactiveOrderService {
+
+    private final OrderFactory orderFactory;
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OrderLogger orderLogger;
+    private final ExternalIdBloomFilter knownExternalIds;
+    private final OrderStatusCounters statusCounters;
+    private final OrderValidator orderValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderProperties properties;
+
+    public Mono<Order> createOrder(final Order request) {
+        final var invalidReason = orderValidator.validate(request);
+        if (invalidReason.isPresent()) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, invalidReason.get()));
+        }
+
+        final var duplicateCheck = properties.getCreate().isInsertFirst()
+                || !knownExternalIds.mightContain(request.getExternalId())
+                ? Mono.<Order>empty()
+                : orderRepository.findByExternalId(request.getExternalId())
+                        .flatMap(existing -> Mono.<Order>error(duplicated(request.getExternalId())));
+
+        return duplicateCheck
+                .then(rejectArchived(request.getExternalId()))
+                .then(Mono.fromSupplier(() -> orderFactory.createFrom(request)))
+                .flatMap(this::insert)
+                .onErrorMap(DuplicateKeyException.class, ex -> duplicated(request.getExternalId()));
+    }
+
+    /**
+     * Um resultado por pedido, na ordem de entrada. Duplicados dentro do próprio fluxo são detectados antes
+     * de ir ao banco; os demais, pelo índice único de externalId.
+     */
+    public Flux<OrderCreationResult> createOrders(final Flux<Order> requests) {
+        return Flux.defer(() -> {
+            final var seen = new HashSet<String>();
+            return requests.flatMapSequential(request -> create(request, seen),
+                    properties.getReactive().getConcurrency());
+        });
+    }
+
+    public Mono<Order> getOrderByExternalId(final String externalId) {
+        return orderRepository.findByExternalId(externalId)
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.findOne(byExternalId(externalId), Order.class,
+                        OrderArchiveRepository.COLLECTION)))
+                .doOnNext(order -> {
+                    orderLogger.searchByExternalId(externalId);
+                    orderLogger.found(order.getId());
+                });
+    }
+
+    public Flux<Order> getOrdersByStatus(final OrderStatus status) {
+        orderLogger.searchByStatus(status);
+        return orderRepository.findByStatusOrderByCreatedAtAscIdAsc(status);
+    }
+
+    private Mono<OrderCreationResult> create(final Order request, final Set<String> seen) {
+        final var externalId = request != null ? request.getExternalId() : null;
+        final var invalidReason = orderValidator.validate(request);
+
+        if (invalidReason.isPresent()) {
+            orderLogger.invalidIgnored(externalId, invalidReason.get());
+            return Mono.just(OrderCreationResult.invalid(externalId, invalidReason.get()));
+        }
+        if (!seen.add(externalId)) {
+            orderLogger.duplicatedIgnored(externalId);
+            return Mono.just(OrderCreationResult.duplicate(externalId));
+        }
+
+        return isArchived(externalId)
+                .flatMap(archived -> archived
+                        ? Mono.<Order>error(new DuplicateKeyException("Pedido arquivado externalId: " + externalId))
+                        : Mono.fromSupplier(() -> orderFactory.createFrom(request)).flatMap(this::insert))
+                .map(OrderCreationResult::created)
+                .onErrorResume(DuplicateKeyException.class, ex -> {
+                    orderLogger.duplicatedIgnored(externalId);
+                    return Mono.just(OrderCreationResult.duplicate(externalId));
+                })
+                .onErrorResume(DataIntegrityViolationException.class, ex -> {
+                    orderLogger.invalidIgnored(externalId, ex.getMessage());
+                    return Mono.just(OrderCreationResult.invalid(externalId, ex.getMessage()));
+                });
+    }
+
+    /**
+     * O índice único de orders não enxerga os pedidos arquivados. Com o arquivamento ligado, o arquivo é
+     * consultado mesmo quando o filtro de Bloom descarta o externalId: o filtro é desta réplica e não viu o
+     * que as outras arquivaram.
+     */
+    private Mono<Boolean> isArchived(final String externalId) {
+        if (!properties.getArchive().isEnabled()) {
+            return Mono.just(false);
+        }
+        return mongoTemplate.exists(byExternalId(externalId), OrderArchiveRepository.COLLECTION);
+    }
+
+    private Mono<Void> rejectArchived(final String externalId) {
+        return isArchived(externalId)
+                .flatMap(archived -> archived ? Mono.<Void>error(duplicated(externalId)) : Mono.<Void>empty());
+    }
+
+    private static Query byExternalId(final String externalId) {
+        return Query.query(Criteria.where("externalId").is(externalId));
+    }
+
+    private Mono<Order> insert(final Order order) {
+        final var collection = properties.getItems().getPersistence() == ItemPersistence.COLLECTION;
+        if (collection) {
+            order.getItems().stream()
+                    .filter(item -> item.getId() == null)
+                    .forEach(item -> item.setId(ObjectId.get().toHexString()));
+        }
+
+        return orderRepository.insert(order)
+                .flatMap(saved -> collection ? saveItems(saved.getItems()).thenReturn(saved) : Mono.just(saved))
+                .doOnNext(saved -> {
+                    knownExternalIds.put(saved.getExternalId());
+                    statusCounters.received(1);
+                    orderLogger.saved(saved);
+                    eventPublisher.publishEvent(new OrdersReceivedEvent(List.of(saved.getId())));
+                });
+    }
+
+    private Mono<Void> saveItems(final List<OrderItem> items) {
+        return mongoTemplate.insert(items, OrderItem.class)
+                .collectList()
+                .doOnNext(orderLogger::sevedItems)
+                .then();
+    }
+
+    private ResponseStatusException duplicated(final String externalId) {
+        orderLogger.duplicated(externalId);
+        return new ResponseStatusException(HttpStatus.CONFLICT, "Pedido duplicado externalId: " + externalId);
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.rafaellbarros.order.validation;
+
+import br.com.rafaellbarros.order.domain.Order;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Valida pedidos individualmente, para que um item inválido de um lote não derrube os demais.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderValidator {
+
+    private final Validator validator;
+
+    public Optional<String> validate(final Order order) {
+        if (order == null) {
+            return Optional.of("Pedido não pode ser nulo");
+        }
+
+        var violations = validator.validate(order);
+        if (violations.isEmpty()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(violations.stream()
+                .map(OrderValidator::describe)
+                .sorted()
+                .collect(Collectors.joining("; ")));
+    }
+
+    private static String describe(final ConstraintViolation<Order> violation) {
+        return violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+}
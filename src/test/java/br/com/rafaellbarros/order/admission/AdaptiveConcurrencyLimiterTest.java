@@ -0,0 +1,92 @@
+package br.com.rafaellbarros.order.admission;
+
+import br.com.rafaellbarros.order.config.mongo.MongoLatencyTracker;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.processor.OrderProcessingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveConcurrencyLimiterTest {
+
+    @Mock
+    private MongoLatencyTracker mongoLatency;
+
+    @Mock
+    private OrderProcessingMetrics processingMetrics;
+
+    private SimpleMeterRegistry registry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new OrderProperties();
+        var concurrency = properties.getAdmission().getConcurrency();
+        concurrency.setInitialLimit(10);
+        concurrency.setMinLimit(2);
+        concurrency.setMaxLimit(11);
+        concurrency.setLatencyTarget(Duration.ofMillis(50));
+        concurrency.setBacklogLimit(1_000);
+        registry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(properties, mongoLatency, processingMetrics, registry);
+    }
+
+    @Test
+    void shouldRejectWhenInFlightReachesLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+        assertEquals(1, registry.get("order_admission_rejected_total").tag("reason", "concurrency").counter().count());
+    }
+
+    @Test
+    void shouldDecreaseMultiplicativelyWhenMongoIsSlow() {
+        given(mongoLatency.averageNanos()).willReturn((double) Duration.ofMillis(200).toNanos());
+        given(processingMetrics.backlog()).willReturn(new OrderProcessingMetrics.BacklogSample(0, null, null));
+
+        limiter.adjust();
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 20; i++) {
+            limiter.adjust();
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void shouldDecreaseWhenBacklogExceedsLimit() {
+        given(mongoLatency.averageNanos()).willReturn(0d);
+        given(processingMetrics.backlog()).willReturn(new OrderProcessingMetrics.BacklogSample(5_000, null, null));
+
+        limiter.adjust();
+
+        assertEquals(9, limiter.getLimit());
+    }
+
+    @Test
+    void shouldIncreaseAdditivelyUpToMaxWhenHealthy() {
+        given(mongoLatency.averageNanos()).willReturn((double) Duration.ofMillis(5).toNanos());
+        given(processingMetrics.backlog()).willReturn(new OrderProcessingMetrics.BacklogSample(10, null, null));
+
+        limiter.adjust();
+        limiter.adjust();
+
+        assertEquals(11, limiter.getLimit());
+        assertEquals(11, registry.get("order_admission_concurrency_limit").gauge().value());
+    }
+}
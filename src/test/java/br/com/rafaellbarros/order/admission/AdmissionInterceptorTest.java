@@ -0,0 +1,95 @@
+package br.com.rafaellbarros.order.admission;
+
+import br.com.rafaellbarros.order.config.exception.TooManyRequestsException;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionInterceptorTest {
+
+    @Mock
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private OrderProperties properties;
+    private AdmissionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderProperties();
+        properties.getAdmission().getRateLimit().setRequestsPerSecond(1);
+        properties.getAdmission().getRateLimit().setBurst(2);
+        var rateLimiter = new ClientRateLimiter(properties, new SimpleMeterRegistry());
+        interceptor = new AdmissionInterceptor(rateLimiter, concurrencyLimiter, properties);
+    }
+
+    @Test
+    void shouldRejectClientAboveBurstWithRetryAfter() {
+        given(concurrencyLimiter.tryAcquire()).willReturn(true);
+
+        assertTrue(interceptor.preHandle(post("client-a"), response, null));
+        assertTrue(interceptor.preHandle(post("client-a"), response, null));
+        var exception = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(post("client-a"), response, null));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.getStatusCode());
+        assertTrue(exception.getRetryAfter().toMillis() > 0);
+        assertTrue(interceptor.preHandle(post("client-b"), response, null));
+    }
+
+    @Test
+    void shouldRejectAndNotReleaseWhenConcurrencyLimitIsReached() {
+        given(concurrencyLimiter.tryAcquire()).willReturn(false);
+        var request = post("client-a");
+
+        var exception = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request, response, null));
+        interceptor.afterCompletion(request, response, null, exception);
+
+        assertEquals(properties.getAdmission().getConcurrency().getRetryAfter(), exception.getRetryAfter());
+        then(concurrencyLimiter).should(never()).release();
+    }
+
+    @Test
+    void shouldReleasePermitAfterCompletion() {
+        given(concurrencyLimiter.tryAcquire()).willReturn(true);
+        var request = post("client-a");
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        then(concurrencyLimiter).should().release();
+    }
+
+    @Test
+    void shouldIgnoreReads() {
+        var request = new MockHttpServletRequest("GET", "/v1/orders");
+
+        assertTrue(interceptor.preHandle(request, response, null));
+
+        then(concurrencyLimiter).should(never()).tryAcquire();
+    }
+
+    private MockHttpServletRequest post(final String client) {
+        var request = new MockHttpServletRequest("POST", "/v1/orders");
+        request.addHeader("X-Client-Id", client);
+        return request;
+    }
+}
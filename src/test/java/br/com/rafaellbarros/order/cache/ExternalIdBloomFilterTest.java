@@ -0,0 +1,84 @@
+package br.com.rafaellbarros.order.cache;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ExternalIdBloomFilterTest {
+
+    @Test
+    void shouldAnswerMightContainUntilLoaded() {
+        var filter = filter(1_000, 0.01);
+
+        assertTrue(filter.mightContain("ext-never-seen"));
+    }
+
+    @Test
+    void shouldNeverReturnFalseNegatives() {
+        var filter = filter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("ext-" + i));
+        filter.markReady();
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("ext-" + i)));
+    }
+
+    @Test
+    void shouldStayCloseToConfiguredFalsePositiveRate() {
+        var filter = filter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("ext-" + i));
+        filter.markReady();
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain("other-" + i))
+                .count();
+
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+        assertTrue(filter.expectedFalsePositiveRate() < 0.02);
+    }
+
+    @Test
+    void shouldLoadExistingExternalIdsAndBecomeReady() {
+        var filter = filter(1_000, 0.01);
+        var repository = mock(OrderRepository.class);
+        var archiveRepository = mock(OrderArchiveRepository.class);
+        given(repository.streamExternalIds()).willReturn(Stream.of("ext-1", "ext-2"));
+        given(archiveRepository.streamExternalIds()).willReturn(Stream.of("ext-archived"));
+
+        new ExternalIdBloomFilterLoader(filter, repository, archiveRepository, new OrderMaintenanceLogger()).load();
+
+        assertTrue(filter.isReady());
+        assertTrue(filter.mightContain("ext-1"));
+        assertTrue(filter.mightContain("ext-archived"));
+        assertFalse(filter.mightContain("ext-3") && filter.mightContain("ext-4") && filter.mightContain("ext-5"));
+    }
+
+    @Test
+    void shouldStayNotReadyWhenLoadFails() {
+        var filter = filter(1_000, 0.01);
+        var repository = mock(OrderRepository.class);
+        given(repository.streamExternalIds()).willThrow(new IllegalStateException("Mongo indisponível"));
+
+        new ExternalIdBloomFilterLoader(filter, repository, mock(OrderArchiveRepository.class),
+                new OrderMaintenanceLogger()).load();
+
+        assertFalse(filter.isReady());
+    }
+
+    private static ExternalIdBloomFilter filter(long expectedInsertions, double falsePositiveRate) {
+        var properties = new OrderProperties();
+        properties.getBloomFilter().setExpectedInsertions(expectedInsertions);
+        properties.getBloomFilter().setFalsePositiveRate(falsePositiveRate);
+        return new ExternalIdBloomFilter(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.rafaellbarros.order.cache;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderCacheTest {
+
+    private final OrderCache cache = new OrderCache(new OrderProperties(), new SimpleMeterRegistry());
+
+    @Test
+    void shouldServeTerminalOrdersFromCache() {
+        var loads = new AtomicInteger();
+        var order = order(OrderStatus.CALCULATED);
+
+        cache.get("ext-1", () -> load(loads, order));
+        var result = cache.get("ext-1", () -> load(loads, order));
+
+        assertSame(order, result.orElseThrow());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheOrdersStillInProgress() {
+        var loads = new AtomicInteger();
+        var order = order(OrderStatus.RECEIVED);
+
+        cache.get("ext-1", () -> load(loads, order));
+        cache.get("ext-1", () -> load(loads, order));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldReloadAfterEviction() {
+        var loads = new AtomicInteger();
+        var order = order(OrderStatus.CALCULATED);
+
+        cache.get("ext-1", () -> load(loads, order));
+        cache.evict(List.of("ext-1"));
+        cache.get("ext-1", () -> load(loads, order));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        var loads = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var order = order(OrderStatus.RECEIVED);
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            Future<Optional<Order>> first = executor.submit(() -> cache.get("ext-1", () -> {
+                started.countDown();
+                await(release);
+                return load(loads, order);
+            }));
+            started.await(2, TimeUnit.SECONDS);
+            var secondThread = new CompletableFuture<Thread>();
+            Future<Optional<Order>> second = executor.submit(() -> {
+                secondThread.complete(Thread.currentThread());
+                return cache.get("ext-1", () -> load(loads, order));
+            });
+
+            // Só libera a primeira carga depois que a segunda busca estiver parada esperando por ela.
+            awaitWaiting(secondThread.get(2, TimeUnit.SECONDS));
+            release.countDown();
+
+            assertSame(order, first.get(2, TimeUnit.SECONDS).orElseThrow());
+            assertSame(order, second.get(2, TimeUnit.SECONDS).orElseThrow());
+        }
+        assertEquals(1, loads.get());
+    }
+
+    private static Optional<Order> load(AtomicInteger loads, Order order) {
+        loads.incrementAndGet();
+        return Optional.of(order);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "A segunda busca não chegou a esperar pela primeira");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Order order(OrderStatus status) {
+        return Order.builder().id("1").externalId("ext-1").status(status).build();
+    }
+}
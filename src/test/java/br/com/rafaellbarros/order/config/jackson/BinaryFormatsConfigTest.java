@@ -0,0 +1,59 @@
+package br.com.rafaellbarros.order.config.jackson;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryFormatsConfigTest {
+
+    private final BinaryFormatsConfig config = new BinaryFormatsConfig();
+
+    @Test
+    void shouldRoundTripOrderInCbor() throws IOException {
+        assertRoundTrip(config.cborHttpMessageConverter(Jackson2ObjectMapperBuilder.json()), MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void shouldRoundTripOrderInSmile() throws IOException {
+        assertRoundTrip(config.smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json()),
+                new MediaType("application", "x-jackson-smile"));
+    }
+
+    private void assertRoundTrip(AbstractJackson2HttpMessageConverter converter, MediaType mediaType) throws IOException {
+        var order = Order.builder()
+                .id("1")
+                .externalId("ext-1")
+                .status(OrderStatus.CALCULATED)
+                .totalAmount(new BigDecimal("150.50"))
+                .createdAt(LocalDateTime.of(2024, 5, 10, 12, 30))
+                .items(List.of(new OrderItem("Caneca", new BigDecimal("50.25"), 2)))
+                .build();
+        var output = new MockHttpOutputMessage();
+
+        assertTrue(converter.canWrite(Order.class, mediaType));
+        converter.write(order, mediaType, output);
+        var json = Jackson2ObjectMapperBuilder.json().build().writeValueAsBytes(order);
+        var read = (Order) converter.read(Order.class, new MockHttpInputMessage(output.getBodyAsBytes()));
+
+        assertTrue(output.getBodyAsBytes().length < json.length);
+        assertEquals("ext-1", read.getExternalId());
+        assertEquals(OrderStatus.CALCULATED, read.getStatus());
+        assertEquals(0, new BigDecimal("150.50").compareTo(read.getTotalAmount()));
+        assertEquals(order.getCreatedAt(), read.getCreatedAt());
+        assertEquals(2, read.getItems().get(0).getQuantity());
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.rafaellbarros.order.config.mongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MongoLatencyTrackerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final MongoLatencyTracker tracker = new MongoLatencyTracker(new SimpleMeterRegistry(), now::get);
+
+    @Test
+    void shouldStartFromFirstSampleAndMoveTowardsNewOnes() {
+        tracker.record(1_000);
+        tracker.record(2_000);
+
+        assertEquals(1_200, tracker.averageNanos(), 0.001);
+    }
+
+    @Test
+    void shouldDecayWithoutNewCommands() {
+        tracker.record(1_000);
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(500, tracker.averageNanos(), 0.001);
+
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertEquals(0, tracker.averageNanos(), 0.001);
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.rafaellbarros.order.config.mongo;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.logger.MongoQueryLogger;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+class MongoQueryInspectorTest {
+
+    @Mock
+    private ObjectProvider<MongoTemplate> mongoTemplateProvider;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoDatabase database;
+
+    @Mock
+    private MongoQueryLogger logger;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private MongoQueryInspector inspector;
+
+    @AfterEach
+    void tearDown() {
+        inspector.shutdown();
+    }
+
+    @Test
+    void shouldCountSlowCommands() {
+        var properties = new OrderProperties();
+        properties.getMongo().setExplainEnabled(false);
+        inspector = new MongoQueryInspector(mongoTemplateProvider, registry, logger, new MongoLatencyTracker(registry), properties);
+
+        inspector.commandStarted(started(1, "insert", BsonDocument.parse("{ insert: 'orders' }")));
+        inspector.commandSucceeded(succeeded(1, "insert", 250));
+        inspector.commandStarted(started(2, "insert", BsonDocument.parse("{ insert: 'orders' }")));
+        inspector.commandSucceeded(succeeded(2, "insert", 5));
+
+        assertEquals(1, registry.get("mongodb_slow_commands_total")
+                .tag("collection", "orders").tag("command", "insert").counter().count());
+        verify(logger).slowCommand("insert", "orders", 250, null);
+    }
+
+    @Test
+    void shouldExplainEachFilterShapeOnceAndCountCollectionScans() {
+        given(mongoTemplateProvider.getObject()).willReturn(mongoTemplate);
+        given(mongoTemplate.getDb()).willReturn(database);
+        given(database.runCommand(any(BsonDocument.class))).willReturn(new Document("queryPlanner",
+                new Document("winningPlan", new Document("stage", "SORT")
+                        .append("inputStage", new Document("stage", "COLLSCAN")))));
+        inspector = new MongoQueryInspector(mongoTemplateProvider, registry, logger, new MongoLatencyTracker(registry), new OrderProperties());
+
+        inspector.commandStarted(started(1, "find", find("RECEIVED")));
+        verify(logger, timeout(2_000)).collectionScan("find", "orders", "{\"status\": 1}");
+        inspector.commandSucceeded(succeeded(1, "find", 1));
+
+        inspector.commandStarted(started(2, "find", find("FAILED")));
+        inspector.commandSucceeded(succeeded(2, "find", 1));
+
+        verify(database).runCommand(any(BsonDocument.class));
+        assertEquals(2, registry.get("mongodb_collscan_commands_total")
+                .tag("collection", "orders").counter().count());
+    }
+
+    @Test
+    void shouldNotCountIndexedQueries() {
+        given(mongoTemplateProvider.getObject()).willReturn(mongoTemplate);
+        given(mongoTemplate.getDb()).willReturn(database);
+        given(database.runCommand(any(BsonDocument.class))).willReturn(new Document("queryPlanner",
+                new Document("winningPlan", new Document("stage", "FETCH")
+                        .append("inputStage", new Document("stage", "IXSCAN")))));
+        inspector = new MongoQueryInspector(mongoTemplateProvider, registry, logger, new MongoLatencyTracker(registry), new OrderProperties());
+
+        inspector.commandStarted(started(1, "find", find("RECEIVED")));
+        verify(database, timeout(2_000)).runCommand(any(BsonDocument.class));
+        inspector.commandSucceeded(succeeded(1, "find", 1));
+
+        verify(logger, never()).collectionScan(any(), any(), any());
+        assertNull(registry.find("mongodb_collscan_commands_total").counter());
+    }
+
+    @Test
+    void shouldFeedLatencyTrackerOnlyWithIngestCommandsOnOrders() {
+        var properties = new OrderProperties();
+        properties.getMongo().setExplainEnabled(false);
+        var latencyTracker = mock(MongoLatencyTracker.class);
+        inspector = new MongoQueryInspector(mongoTemplateProvider, registry, logger, latencyTracker, properties);
+
+        inspector.commandStarted(started(1, "find", find("RECEIVED")));
+        inspector.commandSucceeded(succeeded(1, "find", 1));
+        inspector.commandStarted(started(2, "aggregate", new BsonDocument("aggregate", new BsonString("orders"))));
+        inspector.commandSucceeded(succeeded(2, "aggregate", 1));
+        inspector.commandStarted(started(3, "find", new BsonDocument("find", new BsonString("order_items"))));
+        inspector.commandSucceeded(succeeded(3, "find", 1));
+
+        verify(latencyTracker, times(1)).record(anyLong());
+    }
+
+    private static BsonDocument find(String status) {
+        return new BsonDocument("find", new BsonString("orders"))
+                .append("filter", BsonDocument.parse("{ status: '" + status + "' }"))
+                .append("$db", new BsonString("orderdb"));
+    }
+
+    private static CommandStartedEvent started(int requestId, String commandName, BsonDocument command) {
+        var event = mock(CommandStartedEvent.class, withSettings().strictness(Strictness.LENIENT));
+        given(event.getRequestId()).willReturn(requestId);
+        given(event.getCommandName()).willReturn(commandName);
+        given(event.getCommand()).willReturn(command);
+        return event;
+    }
+
+    private static CommandSucceededEvent succeeded(int requestId, String commandName, long millis) {
+        var event = mock(CommandSucceededEvent.class, withSettings().strictness(Strictness.LENIENT));
+        given(event.getRequestId()).willReturn(requestId);
+        given(event.getCommandName()).willReturn(commandName);
+        given(event.getElapsedTime(TimeUnit.MILLISECONDS)).willReturn(millis);
+        return event;
+    }
+}
@@ -0,0 +1,133 @@
+package br.com.rafaellbarros.order.config.reactive;
+
+import br.com.rafaellbarros.order.controller.OrderV2Handler;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.service.ReactiveOrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class OrderV2ServerTest {
+
+    @Mock
+    private ReactiveOrderService orderService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToRouterFunction(OrderV2Server.routes(new OrderV2Handler(orderService))).build();
+    }
+
+    @Test
+    void shouldCreateOrderWithLocation() {
+        given(orderService.createOrder(any(Order.class))).willReturn(Mono.just(order("ext-1")));
+
+        client.post().uri("/v2/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(order("ext-1"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().location("/v2/orders/id-ext-1")
+                .expectBody().jsonPath("$.externalId").isEqualTo("ext-1");
+    }
+
+    @Test
+    void shouldAnswerConflictWithV1ErrorBody() {
+        given(orderService.createOrder(any(Order.class)))
+                .willReturn(Mono.error(new ResponseStatusException(HttpStatus.CONFLICT, "Pedido duplicado externalId: ext-1")));
+
+        client.post().uri("/v2/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(order("ext-1"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(409)
+                .jsonPath("$.message").isEqualTo("Pedido duplicado externalId: ext-1");
+    }
+
+    @Test
+    void shouldStreamBatchResultsAsNdjson() {
+        given(orderService.createOrders(any())).willReturn(Flux.just(
+                OrderCreationResult.created(order("ext-1")),
+                OrderCreationResult.duplicate("ext-2")));
+
+        client.post().uri("/v2/orders/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"externalId\":\"ext-1\"}\n{\"externalId\":\"ext-2\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(OrderCreationResult.class)
+                .hasSize(2)
+                .value(results -> assertEquals(
+                        List.of(OrderCreationResult.Status.CREATED, OrderCreationResult.Status.DUPLICATE),
+                        results.stream().map(OrderCreationResult::status).toList()));
+    }
+
+    @Test
+    void shouldReturnOrderByExternalIdOrNotFound() {
+        given(orderService.getOrderByExternalId("ext-1")).willReturn(Mono.just(order("ext-1")));
+        given(orderService.getOrderByExternalId("missing")).willReturn(Mono.empty());
+
+        client.get().uri("/v2/orders/external-id/ext-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo("id-ext-1");
+
+        client.get().uri("/v2/orders/external-id/missing")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void shouldListOrdersByStatusAsJsonArray() {
+        given(orderService.getOrdersByStatus(OrderStatus.CALCULATED)).willReturn(Flux.just(order("ext-1"), order("ext-2")));
+
+        client.get().uri("/v2/orders/by-status/CALCULATED")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].externalId").isEqualTo("ext-2");
+    }
+
+    @Test
+    void shouldRejectUnknownStatusWithBadRequest() {
+        client.get().uri("/v2/orders/by-status/UNKNOWN")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.message").isEqualTo("Status inválido: UNKNOWN");
+    }
+
+    private static Order order(String externalId) {
+        return Order.builder()
+                .id("id-" + externalId)
+                .externalId(externalId)
+                .status(OrderStatus.RECEIVED)
+                .items(List.of(new OrderItem("Item", BigDecimal.TEN, 1)))
+                .build();
+    }
+}
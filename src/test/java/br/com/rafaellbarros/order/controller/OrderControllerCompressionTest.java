@@ -0,0 +1,109 @@
+package br.com.rafaellbarros.order.controller;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.service.OrderCreateCoalescer;
+import br.com.rafaellbarros.order.service.OrderExportService;
+import br.com.rafaellbarros.order.service.OrderIngestService;
+import br.com.rafaellbarros.order.service.OrderService;
+import br.com.rafaellbarros.order.service.OrderStatusCounters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.WebServer;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sobe o controller em um Tomcat embutido com a mesma compressão do application.yml: o MockMvc não passa
+ * pelo conector, que é quem decide comprimir ou não a resposta.
+ */
+class OrderControllerCompressionTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private WebServer server;
+
+    @BeforeEach
+    void startServer() {
+        var controller = new OrderController(orderService, mock(OrderCreateCoalescer.class),
+                mock(OrderIngestService.class), mock(OrderExportService.class), mock(OrderStatusCounters.class));
+
+        var context = new GenericWebApplicationContext();
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(context);
+        context.registerBean(WebConfig.class);
+        context.registerBean(OrderController.class, () -> controller);
+
+        var compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMinResponseSize(DataSize.ofKilobytes(2));
+        compression.setMimeTypes(new String[]{"application/json"});
+
+        var factory = new TomcatServletWebServerFactory(0);
+        factory.setCompression(compression);
+        server = factory.getWebServer(servletContext -> servletContext
+                .addServlet("dispatcher", new DispatcherServlet(context))
+                .addMapping("/"));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void shouldCompressOrderResponseThatCarriesAnETag() throws Exception {
+        when(orderService.getOrderByExternalId("order-123")).thenReturn(Optional.of(largeOrder()));
+
+        var response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/v1/orders/external-id/order-123"))
+                        .header("Accept", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    private static Order largeOrder() {
+        return Order.builder()
+                .id("abc")
+                .externalId("order-123")
+                .status(OrderStatus.CALCULATED)
+                .items(IntStream.range(0, 100)
+                        .mapToObj(i -> new OrderItem("Item " + i, new BigDecimal("10.00"), 1))
+                        .toList())
+                .totalAmount(new BigDecimal("1000.00"))
+                .createdAt(LocalDateTime.now())
+                .version(3L)
+                .build();
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class WebConfig {
+    }
+}
@@ -1,16 +1,24 @@
 package br.com.rafaellbarros.order.controller;
 
 import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.domain.OrderPage;
 import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.domain.OrderSummary;
 import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.service.OrderCreateCoalescer;
 import br.com.rafaellbarros.order.service.OrderService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,6 +27,11 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 
@@ -28,20 +41,23 @@ public class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private OrderCreateCoalescer orderCreateCoalescer;
+
     @InjectMocks
     private OrderController orderController;
 
     @Test
     void testCreateOrder() {
         Order request = buildOrder();
-        when(orderService.createOrder(request)).thenReturn(request);
+        when(orderCreateCoalescer.createOrder(request)).thenReturn(request);
 
         ResponseEntity<Order> response = orderController.createOrder(request);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(request, response.getBody());
         assertTrue(response.getHeaders().getLocation().toString().contains("/v1/orders/" + request.getId()));
-        verify(orderService).createOrder(request);
+        verify(orderCreateCoalescer).createOrder(request);
     }
 
     @Test
@@ -51,13 +67,16 @@ public class OrderControllerTest {
         order2.setExternalId("order-456");
 
         List<Order> requestList = List.of(order1, order2);
-        when(orderService.createOrders(requestList)).thenReturn(requestList);
+        List<OrderCreationResult> results = List.of(
+                OrderCreationResult.created(order1),
+                OrderCreationResult.duplicate(order2.getExternalId()));
+        when(orderService.createOrders(requestList)).thenReturn(results);
 
-        ResponseEntity<List<Order>> response = orderController.createOrders(requestList);
+        ResponseEntity<List<OrderCreationResult>> response = orderController.createOrders(requestList);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(2, response.getBody().size());
-        assertEquals(requestList, response.getBody());
+        assertEquals(results, response.getBody());
         assertTrue(response.getHeaders().getLocation().toString().contains("/v1/orders/batch"));
         verify(orderService).createOrders(requestList);
     }
@@ -67,18 +86,103 @@ public class OrderControllerTest {
         Order order = buildOrder();
         when(orderService.getOrderByExternalId("order-123")).thenReturn(Optional.of(order));
 
-        ResponseEntity<Order> response = orderController.getOrderByExternalId("order-123");
+        ResponseEntity<Order> response = orderController.getOrderByExternalId("order-123", null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(order, response.getBody());
         verify(orderService).getOrderByExternalId("order-123");
     }
 
+    @Test
+    void shouldAnswerNotModifiedWhenVersionIsUnchanged() throws Exception {
+        Order order = buildOrder();
+        order.setId("abc");
+        order.setVersion(3L);
+        when(orderService.getOrderByExternalId("order-123")).thenReturn(Optional.of(order));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
+
+        mockMvc.perform(get("/v1/orders/external-id/order-123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-3-json\""));
+
+        mockMvc.perform(get("/v1/orders/external-id/order-123").header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-3-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        order.setVersion(4L);
+        mockMvc.perform(get("/v1/orders/external-id/order-123").header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-3-json\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-4-json\""));
+    }
+
+    @Test
+    void shouldUseADifferentETagForEachFormat() throws Exception {
+        Order order = buildOrder();
+        order.setId("abc");
+        order.setVersion(3L);
+        when(orderService.getOrderByExternalId("order-123")).thenReturn(Optional.of(order));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
+
+        mockMvc.perform(get("/v1/orders/external-id/order-123").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-3-cbor\""));
+
+        mockMvc.perform(get("/v1/orders/external-id/order-123")
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"abc-3-json\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldPickETagFormatByQualityValue() throws Exception {
+        Order order = buildOrder();
+        order.setId("abc");
+        order.setVersion(3L);
+        when(orderService.getOrderByExternalId("order-123")).thenReturn(Optional.of(order));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
+
+        mockMvc.perform(get("/v1/orders/external-id/order-123")
+                        .header(HttpHeaders.ACCEPT, "application/json, application/cbor;q=0.1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-3-json\""));
+
+        mockMvc.perform(get("/v1/orders/external-id/order-123")
+                        .header(HttpHeaders.ACCEPT, "application/cbor;q=0.1, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"abc-3-json\""));
+    }
+
+    @Test
+    void shouldSelectSummaryViewByParameterOrMediaType() throws Exception {
+        Order order = buildOrder();
+        OrderSummary summary = new OrderSummary("1", "order-123", OrderStatus.CALCULATED,
+                new BigDecimal("3500.00"), order.getCreatedAt(), null);
+        when(orderService.getOrderSummariesByStatus(OrderStatus.CALCULATED, null, null))
+                .thenReturn(new OrderPage<>(List.of(summary), null));
+        when(orderService.getOrdersByStatus(OrderStatus.CALCULATED, null, null))
+                .thenReturn(new OrderPage<>(List.of(order), null));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
+
+        mockMvc.perform(get("/v1/orders/by-status/CALCULATED").param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].externalId").value("order-123"))
+                .andExpect(jsonPath("$[0].items").doesNotExist());
+
+        mockMvc.perform(get("/v1/orders/by-status/CALCULATED").accept(OrderController.SUMMARY_MEDIA_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(OrderController.SUMMARY_MEDIA_TYPE))
+                .andExpect(jsonPath("$[0].items").doesNotExist());
+
+        mockMvc.perform(get("/v1/orders/by-status/CALCULATED").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].items").exists());
+    }
+
     @Test
     void testGetOrderByExternalIdNotFound() {
         when(orderService.getOrderByExternalId("not-exist")).thenReturn(Optional.empty());
 
-        ResponseEntity<Order> response = orderController.getOrderByExternalId("not-exist");
+        ResponseEntity<Order> response = orderController.getOrderByExternalId("not-exist", null);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
@@ -91,13 +195,25 @@ public class OrderControllerTest {
         Order order2 = buildOrder();
         List<Order> orders = List.of(order1, order2);
 
-        when(orderService.getOrdersByStatus(OrderStatus.RECEIVED)).thenReturn(orders);
+        when(orderService.getOrdersByStatus(OrderStatus.RECEIVED, null, null)).thenReturn(new OrderPage<>(orders, "next"));
 
-        ResponseEntity<List<Order>> response = orderController.getOrdersByStatus(OrderStatus.RECEIVED);
+        ResponseEntity<List<Order>> response = orderController.getOrdersByStatus(OrderStatus.RECEIVED, null, null);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
-        verify(orderService).getOrdersByStatus(OrderStatus.RECEIVED);
+        assertEquals("next", response.getHeaders().getFirst(OrderController.NEXT_CURSOR_HEADER));
+        verify(orderService).getOrdersByStatus(OrderStatus.RECEIVED, null, null);
+    }
+
+    @Test
+    void testGetOrdersByStatusLastPageHasNoCursor() {
+        when(orderService.getOrdersByStatus(OrderStatus.CALCULATED, "abc", 10))
+                .thenReturn(new OrderPage<>(List.of(buildOrder()), null));
+
+        ResponseEntity<List<Order>> response = orderController.getOrdersByStatus(OrderStatus.CALCULATED, "abc", 10);
+
+        assertEquals(1, response.getBody().size());
+        assertFalse(response.getHeaders().containsKey(OrderController.NEXT_CURSOR_HEADER));
     }
 
     private Order buildOrder() {
@@ -0,0 +1,129 @@
+package br.com.rafaellbarros.order.job;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderPageCursor;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import br.com.rafaellbarros.order.service.OrderStatusCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class OrderArchiveJobTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderArchiveRepository archiveRepository;
+
+    @Mock
+    private OrderStatusCounters statusCounters;
+
+    private OrderProperties properties;
+    private OrderArchiveJob job;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OrderProperties();
+        properties.getArchive().setBatchSize(2);
+        properties.getArchive().setPause(Duration.ZERO);
+        job = new OrderArchiveJob(orderRepository, archiveRepository, statusCounters, new OrderMaintenanceLogger(), properties);
+    }
+
+    @Test
+    void shouldCopyEachBatchBeforeDeletingItFromHotCollection() {
+        var first = List.of(order("1"), order("2"));
+        var last = List.of(order("3"));
+        given(orderRepository.findArchivable(any(LocalDateTime.class), any(), eq(2))).willReturn(first, last);
+        given(archiveRepository.archive(first)).willReturn(List.of("1", "2"));
+        given(archiveRepository.archive(last)).willReturn(List.of("3"));
+
+        job.archive();
+
+        then(orderRepository).should().deleteAllById(Set.of("1", "2"));
+        then(orderRepository).should().deleteAllById(Set.of("3"));
+        then(orderRepository).should(times(2)).findArchivable(any(LocalDateTime.class), any(), anyInt());
+        then(statusCounters).should(times(2)).archived(anyCollection());
+    }
+
+    @Test
+    void shouldKeepOrdersThatWereNotCopied() {
+        var batch = List.of(order("1"), order("2"));
+        given(orderRepository.findArchivable(any(LocalDateTime.class), any(), eq(2))).willReturn(batch, List.of());
+        given(archiveRepository.archive(batch)).willReturn(List.of("2"));
+
+        job.archive();
+
+        then(orderRepository).should().deleteAllById(Set.of("2"));
+    }
+
+    @Test
+    void shouldMovePastRejectedOrdersInsteadOfRereadingThem() {
+        var rejected = List.of(order("1"), order("2"));
+        var next = List.of(order("3"));
+        given(orderRepository.findArchivable(any(LocalDateTime.class), isNull(), eq(2))).willReturn(rejected);
+        given(orderRepository.findArchivable(any(LocalDateTime.class), eq(OrderPageCursor.after(rejected.get(1))), eq(2)))
+                .willReturn(next);
+        given(archiveRepository.archive(rejected)).willReturn(List.of());
+        given(archiveRepository.archive(next)).willReturn(List.of("3"));
+
+        job.archive();
+
+        then(orderRepository).should().deleteAllById(Set.of("3"));
+        then(orderRepository).should(times(1)).deleteAllById(any());
+    }
+
+    @Test
+    void shouldStopAfterMaxBatchesPerRun() {
+        properties.getArchive().setMaxBatchesPerRun(1);
+        var batch = List.of(order("1"), order("2"));
+        given(orderRepository.findArchivable(any(LocalDateTime.class), any(), eq(2))).willReturn(batch);
+        given(archiveRepository.archive(batch)).willReturn(List.of("1", "2"));
+
+        job.archive();
+
+        then(orderRepository).should(times(1)).findArchivable(any(LocalDateTime.class), any(), anyInt());
+    }
+
+    @Test
+    void shouldNotDeleteWhenNothingWasCopied() {
+        var batch = List.of(order("1"));
+        given(orderRepository.findArchivable(any(LocalDateTime.class), any(), eq(2))).willReturn(batch);
+        given(archiveRepository.archive(batch)).willReturn(List.of());
+
+        job.archive();
+
+        then(orderRepository).should(never()).deleteAllById(any());
+    }
+
+    private Order order(String id) {
+        var order = new Order();
+        order.setId(id);
+        order.setExternalId("ext-" + id);
+        order.setStatus(OrderStatus.CALCULATED);
+        order.setCreatedAt(LocalDateTime.now().minusDays(365));
+        return order;
+    }
+}
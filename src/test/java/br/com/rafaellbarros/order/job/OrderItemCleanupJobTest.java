@@ -0,0 +1,94 @@
+package br.com.rafaellbarros.order.job;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
+import br.com.rafaellbarros.order.repository.OrderItemRepository;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class OrderItemCleanupJobTest {
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    private OrderItemCleanupJob job;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new OrderProperties();
+        properties.getItems().setCleanupPageSize(2);
+        job = new OrderItemCleanupJob(orderItemRepository, orderRepository, orderArchiveRepository,
+                new OrderMaintenanceLogger(), properties);
+    }
+
+    @Test
+    void shouldDeleteOnlyItemsNoOrderReferences() {
+        given(orderItemRepository.findIds(any(Pageable.class))).willReturn(List.of(item("a"), item("b")));
+        given(orderItemRepository.findIdsAfter(eq("b"), any(Pageable.class))).willReturn(List.of(item("c")));
+        given(orderRepository.findItemReferences(List.of("a", "b"))).willReturn(List.of(orderWith("a")));
+        given(orderRepository.findItemReferences(List.of("c"))).willReturn(List.of(orderWith("c")));
+
+        job.removeOrphans();
+
+        then(orderItemRepository).should().deleteAllById(List.of("b"));
+        then(orderItemRepository).should(never()).deleteAllById(List.of("c"));
+    }
+
+    @Test
+    void shouldNotDeleteWhenEveryItemIsReferenced() {
+        given(orderItemRepository.findIds(any(Pageable.class))).willReturn(List.of(item("a")));
+        given(orderRepository.findItemReferences(List.of("a"))).willReturn(List.of(orderWith("a")));
+
+        job.removeOrphans();
+
+        then(orderItemRepository).should(never()).deleteAllById(any());
+        then(orderItemRepository).should(never()).findIdsAfter(any(), any());
+    }
+
+    @Test
+    void shouldKeepItemsReferencedByArchivedOrders() {
+        given(orderItemRepository.findIds(any(Pageable.class))).willReturn(List.of(item("a"), item("b")));
+        given(orderItemRepository.findIdsAfter(eq("b"), any(Pageable.class))).willReturn(List.of());
+        given(orderRepository.findItemReferences(List.of("a", "b"))).willReturn(List.of());
+        given(orderArchiveRepository.findItemReferences(List.of("a", "b"))).willReturn(List.of(orderWith("a")));
+
+        job.removeOrphans();
+
+        then(orderItemRepository).should().deleteAllById(List.of("b"));
+    }
+
+    private static OrderItem item(String id) {
+        var item = new OrderItem();
+        item.setId(id);
+        return item;
+    }
+
+    private static Order orderWith(String itemId) {
+        var order = new Order();
+        order.setItems(List.of(item(itemId)));
+        return order;
+    }
+}
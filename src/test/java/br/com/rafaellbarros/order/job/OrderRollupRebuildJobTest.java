@@ -0,0 +1,57 @@
+package br.com.rafaellbarros.order.job;
+
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import br.com.rafaellbarros.order.repository.OrderRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class OrderRollupRebuildJobTest {
+
+    @Mock
+    private OrderRollupRepository rollupRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderRollupRebuildJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new OrderRollupRebuildJob(rollupRepository, orderRepository, new OrderMaintenanceLogger());
+    }
+
+    @Test
+    void shouldRebuildEverythingBeforeTodayWhenNothingIsPending() {
+        given(orderRepository.findOldestCreatedAt(OrderStatus.RECEIVED)).willReturn(Optional.empty());
+        given(orderRepository.findOldestCreatedAt(OrderStatus.PROCESSING)).willReturn(Optional.empty());
+
+        job.rebuild();
+
+        then(rollupRepository).should().rebuild(LocalDate.now());
+    }
+
+    @Test
+    void shouldStopAtTheDayOfTheOldestPendingOrder() {
+        var oldest = LocalDate.now().minusDays(3);
+        given(orderRepository.findOldestCreatedAt(OrderStatus.RECEIVED))
+                .willReturn(Optional.of(LocalDate.now().minusDays(1).atTime(8, 0)));
+        given(orderRepository.findOldestCreatedAt(OrderStatus.PROCESSING))
+                .willReturn(Optional.of(oldest.atTime(23, 59)));
+
+        job.rebuild();
+
+        then(rollupRepository).should().rebuild(oldest);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.rafaellbarros.order.logger;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogSamplerTest {
+
+    @Test
+    void shouldEmitEverythingWithoutSamplingOrLimit() {
+        var sampler = sampler(1.0, 0);
+
+        assertEquals(1_000, emitted(sampler, 1_000));
+    }
+
+    @Test
+    void shouldCapEventsPerSecond() {
+        var sampler = sampler(1.0, 10);
+
+        assertTrue(emitted(sampler, 1_000) <= 20);
+    }
+
+    @Test
+    void shouldEmitNothingWithZeroSampleRate() {
+        var sampler = sampler(0.0, 0);
+
+        assertEquals(0, emitted(sampler, 1_000));
+    }
+
+    @Test
+    void shouldEmitRoughlyTheSampledFraction() {
+        var sampler = sampler(0.1, 0);
+
+        var emitted = emitted(sampler, 100_000);
+
+        assertTrue(emitted > 8_000 && emitted < 12_000, "emitidos: " + emitted);
+    }
+
+    private static long emitted(LogSampler sampler, int events) {
+        return IntStream.range(0, events).filter(i -> sampler.sample()).count();
+    }
+
+    private static LogSampler sampler(double sampleRate, long maxPerSecond) {
+        var properties = new OrderProperties();
+        properties.getLogging().setSampleRate(sampleRate);
+        properties.getLogging().setMaxPerSecond(maxPerSecond);
+        return new LogSampler(properties);
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.rafaellbarros.order.processor;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class OrderProcessingMetricsTest {
+
+    @Mock
+    private OrderRepository repository;
+
+    private SimpleMeterRegistry registry;
+    private OrderProcessingMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new OrderProcessingMetrics(repository, registry);
+    }
+
+    @Test
+    void shouldExposeLastBacklogSampleWithoutQueryingOnScrape() {
+        given(repository.countByStatus(OrderStatus.RECEIVED)).willReturn(42L);
+        given(repository.findOldestCreatedAt(OrderStatus.RECEIVED))
+                .willReturn(Optional.of(LocalDateTime.now().minusMinutes(2)));
+
+        metrics.sampleBacklog();
+        var received = registry.get("order_backlog_received").gauge().value();
+        var age = registry.get("order_backlog_oldest_received_age_seconds").gauge().value();
+        registry.get("order_backlog_received").gauge().value();
+
+        assertEquals(42, received);
+        assertTrue(age >= 120 && age < 130, "idade: " + age);
+        then(repository).should().countByStatus(OrderStatus.RECEIVED);
+    }
+
+    @Test
+    void shouldSkipOldestLookupWhenBacklogIsEmpty() {
+        given(repository.countByStatus(OrderStatus.RECEIVED)).willReturn(0L);
+
+        metrics.sampleBacklog();
+
+        assertEquals(0, registry.get("order_backlog_oldest_received_age_seconds").gauge().value());
+        then(repository).should(never()).findOldestCreatedAt(any());
+    }
+
+    @Test
+    void shouldRecordLagFromCreationToCalculation() {
+        var createdAt = LocalDateTime.now().minusSeconds(30);
+        var calculated = Order.builder().createdAt(createdAt).updateAt(createdAt.plusSeconds(30)).build();
+        var failed = Order.builder().createdAt(createdAt).build();
+
+        metrics.recordLag(List.of(calculated, failed));
+
+        var lag = registry.get("order_processing_lag_seconds").timer();
+        assertEquals(1, lag.count());
+        assertEquals(30, lag.totalTime(TimeUnit.SECONDS), 0.001);
+    }
+
+    @Test
+    void shouldRecordOrdersPerCycleBySource() {
+        metrics.recordCycle(OrderProcessingMetrics.SWEEPER, 500);
+        metrics.recordCycle(OrderProcessingMetrics.QUEUE, 3);
+
+        assertEquals(500, registry.get("order_processor_cycle_orders").tag("source", "sweeper").summary().totalAmount());
+        assertEquals(3, registry.get("order_processor_cycle_orders").tag("source", "queue").summary().totalAmount());
+        assertEquals("queue", metrics.lastCycle().source());
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.rafaellbarros.order.processor;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.OrdersReceivedEvent;
+import br.com.rafaellbarros.order.logger.LogSampler;
+import br.com.rafaellbarros.order.logger.OrderProcessorLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+@ExtendWith(MockitoExtension.class)
+class OrderProcessingQueueTest {
+
+    @Mock
+    private OrderProcessor orderProcessor;
+
+    private OrderProcessingQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    void shouldHandNewOrdersToWorkers() {
+        queue = queue(new OrderProperties());
+        queue.start();
+
+        queue.onOrdersReceived(new OrdersReceivedEvent(List.of("1")));
+
+        verify(orderProcessor, timeout(2_000)).processReceived(List.of("1"));
+    }
+
+    @Test
+    void shouldDropOrdersWhenQueueIsFullAndLeaveThemToTheSweeper() {
+        var properties = new OrderProperties();
+        properties.getProcessor().getQueue().setCapacity(2);
+        properties.getProcessor().getQueue().setWorkers(0);
+        var registry = new SimpleMeterRegistry();
+        queue = new OrderProcessingQueue(orderProcessor, new OrderProcessorLogger(new LogSampler(new OrderProperties())), properties, registry);
+        queue.start();
+
+        queue.onOrdersReceived(new OrdersReceivedEvent(List.of("1", "2", "3")));
+
+        assertEquals(1, registry.counter("order_processing_queue_dropped_total").count());
+        assertEquals(2, registry.get("order_processing_queue_size").gauge().value());
+        verify(orderProcessor, never()).processReceived(anyCollection());
+    }
+
+    @Test
+    void shouldIgnoreEventsWhenDisabled() {
+        var properties = new OrderProperties();
+        properties.getProcessor().getQueue().setEnabled(false);
+        queue = queue(properties);
+        queue.start();
+
+        queue.onOrdersReceived(new OrdersReceivedEvent(List.of("1")));
+
+        verify(orderProcessor, never()).processReceived(anyCollection());
+    }
+
+    private OrderProcessingQueue queue(OrderProperties properties) {
+        return new OrderProcessingQueue(orderProcessor, new OrderProcessorLogger(new LogSampler(new OrderProperties())), properties, new SimpleMeterRegistry());
+    }
+}
@@ -1,11 +1,18 @@
 package br.com.rafaellbarros.order.processor;
 
+import br.com.rafaellbarros.order.cache.OrderCache;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
 import br.com.rafaellbarros.order.domain.Order;
 import br.com.rafaellbarros.order.domain.OrderStatus;
 import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.logger.LogSampler;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
 import br.com.rafaellbarros.order.logger.OrderProcessorLogger;
 import br.com.rafaellbarros.order.repository.OrderRepository;
+import br.com.rafaellbarros.order.repository.OrderRollupRepository;
 import br.com.rafaellbarros.order.service.OrderProcessorService;
+import br.com.rafaellbarros.order.service.OrderRollupService;
+import br.com.rafaellbarros.order.service.OrderStatusCounters;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,29 +21,52 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class OrderProcessorTest {
 
+    private static final String INSTANCE = "instance-a";
+
     @Mock
     private OrderRepository repository;
 
+    @Mock
+    private OrderRollupRepository rollupRepository;
+
+    private OrderProperties properties;
+
+    private OrderStatusCounters statusCounters;
+
+    private SimpleMeterRegistry metricsRegistry;
+
     private OrderProcessor orderProcessor;
 
     @BeforeEach
     void setup() {
-        var meterRegistry = new SimpleMeterRegistry();
-        var logger = new OrderProcessorLogger();
-        var orderProcessorService = new OrderProcessorService(meterRegistry, logger);
-        orderProcessor = new OrderProcessor(orderProcessorService, repository, logger);
+        properties = properties(INSTANCE);
+        statusCounters = new OrderStatusCounters(repository, new OrderMaintenanceLogger(), new SimpleMeterRegistry());
+        metricsRegistry = new SimpleMeterRegistry();
+        orderProcessor = processor(properties);
     }
 
     @Test
@@ -46,17 +76,17 @@ class OrderProcessorTest {
 
         Order order = new Order();
         order.setExternalId("EXT-123");
-        order.setStatus(OrderStatus.RECEIVED);
+        order.setStatus(OrderStatus.PROCESSING);
         order.setItems(List.of(item1, item2));
         order.setTraceId(UUID.randomUUID().toString());
 
-        given(repository.findByStatus(OrderStatus.RECEIVED)).willReturn(List.of(order));
-        given(repository.saveAll(anyList())).willReturn(List.of(order));
+        given(repository.claimForProcessing(INSTANCE, 500, Duration.ofMinutes(5)))
+                .willReturn(List.of(order), List.of());
 
         orderProcessor.processScheduledOrders();
 
 
-        verify(repository).saveAll(argThat(orders -> {
+        verify(repository).updateProcessingResults(argThat(orders -> {
             for (Order o : orders) {
                 return o.getStatus() == OrderStatus.CALCULATED &&
                         o.getTotalAmount().compareTo(new BigDecimal("400.00")) == 0 &&
@@ -68,11 +98,28 @@ class OrderProcessorTest {
 
     @Test
     void shouldSkipProcessingWhenNoReceivedOrders() {
-        given(repository.findByStatus(OrderStatus.RECEIVED)).willReturn(Collections.emptyList());
+        given(repository.claimForProcessing(INSTANCE, 500, Duration.ofMinutes(5))).willReturn(List.of());
+
+        orderProcessor.processScheduledOrders();
+
+        verify(repository, never()).updateProcessingResults(any());
+    }
+
+    @Test
+    void shouldWriteBackEachClaimedChunkSeparately() {
+        properties.getProcessor().setChunkSize(2);
+
+        given(repository.claimForProcessing(INSTANCE, 2, Duration.ofMinutes(5))).willReturn(
+                List.of(processingOrder("EXT-0"), processingOrder("EXT-1")),
+                List.of(processingOrder("EXT-2"), processingOrder("EXT-3")),
+                List.of(processingOrder("EXT-4")),
+                List.of());
 
         orderProcessor.processScheduledOrders();
 
-        verify(repository, never()).saveAll(any());
+        verify(repository, times(4)).claimForProcessing(INSTANCE, 2, Duration.ofMinutes(5));
+        verify(repository, times(2)).updateProcessingResults(argThat(chunk -> chunk.size() == 2));
+        verify(repository).updateProcessingResults(argThat(chunk -> chunk.size() == 1));
     }
 
     @Test
@@ -81,15 +128,16 @@ class OrderProcessorTest {
 
         Order order = new Order();
         order.setExternalId("FAIL-123");
-        order.setStatus(OrderStatus.RECEIVED);
+        order.setStatus(OrderStatus.PROCESSING);
         order.setItems(List.of(item));
         order.setTraceId(UUID.randomUUID().toString());
 
-        given(repository.findByStatus(OrderStatus.RECEIVED)).willReturn(List.of(order));
+        given(repository.claimForProcessing(INSTANCE, 500, Duration.ofMinutes(5)))
+                .willReturn(List.of(order), List.of());
 
         orderProcessor.processScheduledOrders();
 
-        verify(repository).saveAll(argThat(orders -> {
+        verify(repository).updateProcessingResults(argThat(orders -> {
             for (Order o : orders) {
                 return o.getStatus() == OrderStatus.FAILED &&
                         o.getProcessingMessage().startsWith("Erro:");
@@ -97,4 +145,116 @@ class OrderProcessorTest {
             return false;
         }));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldIncrementRollupsOnlyForOrdersThatWereWritten() {
+        Order written = processingOrder("EXT-1");
+        written.setCreatedAt(LocalDateTime.of(2024, 5, 10, 12, 0));
+        Order lost = processingOrder("EXT-2");
+        lost.setCreatedAt(LocalDateTime.of(2024, 5, 10, 13, 0));
+
+        given(repository.claimForProcessing(INSTANCE, 500, Duration.ofMinutes(5)))
+                .willReturn(List.of(written, lost), List.of());
+        given(repository.updateProcessingResults(anyList())).willReturn(List.of(written));
+
+        orderProcessor.processScheduledOrders();
+
+        verify(rollupRepository, times(1)).increment(argThat(deltas -> deltas.size() == 1
+                && deltas.iterator().next().getId().equals("2024-05-10:CALCULATED")
+                && deltas.iterator().next().getOrders() == 1));
+    }
+
+    @Test
+    void shouldKeepOrdersWithLostLeaseCountedAsProcessing() {
+        Order written = processingOrder("EXT-1");
+        Order lost = processingOrder("EXT-2");
+        written.setCreatedAt(LocalDateTime.now().minusSeconds(5));
+        lost.setCreatedAt(LocalDateTime.now().minusSeconds(5));
+
+        given(repository.claimForProcessing(INSTANCE, 500, Duration.ofMinutes(5)))
+                .willReturn(List.of(written, lost), List.of());
+        given(repository.updateProcessingResults(anyList())).willReturn(List.of(written));
+
+        orderProcessor.processScheduledOrders();
+
+        var byStatus = statusCounters.snapshot().byStatus();
+        assertEquals(1L, byStatus.get(OrderStatus.CALCULATED));
+        assertEquals(1L, byStatus.get(OrderStatus.PROCESSING));
+        assertEquals(1L, metricsRegistry.get("order_processing_lag_seconds").timer().count());
+    }
+
+    @Test
+    void shouldDrainSharedBacklogFromTwoInstancesWritingEachClaimedOrderOnce() throws Exception {
+        Queue<Order> backlog = new ConcurrentLinkedQueue<>(IntStream.range(0, 1_000)
+                .mapToObj(i -> processingOrder("EXT-" + i))
+                .toList());
+        Map<String, String> processedBy = new ConcurrentHashMap<>();
+
+        // O mock entrega cada pedido a um único dono; a atomicidade real da reivindicação é do Mongo e
+        // está coberta em OrderRepositoryCustomImplTest. Aqui só se verifica o laço do processador.
+        given(repository.claimForProcessing(anyString(), anyInt(), any(Duration.class))).willAnswer(invocation -> {
+            String owner = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            List<Order> claimed = new ArrayList<>();
+            Order next;
+            while (claimed.size() < limit && (next = backlog.poll()) != null) {
+                next.setProcessingOwner(owner);
+                claimed.add(next);
+            }
+            return claimed;
+        });
+        willAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            orders.forEach(o -> processedBy.merge(o.getExternalId(), o.getProcessingOwner(), (a, b) -> {
+                throw new IllegalStateException("Pedido processado duas vezes: " + o.getExternalId());
+            }));
+            return orders;
+        }).given(repository).updateProcessingResults(anyList());
+
+        var first = processor(properties("instance-a", 50));
+        var second = processor(properties("instance-b", 50));
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var a = executor.submit(first::processScheduledOrders);
+            var b = executor.submit(second::processScheduledOrders);
+            a.get();
+            b.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1_000, processedBy.size());
+        assertTrue(backlog.isEmpty());
+    }
+
+    private OrderProcessor processor(OrderProperties properties) {
+        var logger = new OrderProcessorLogger(new LogSampler(new OrderProperties()));
+        var orderProcessorService = new OrderProcessorService(new SimpleMeterRegistry(), logger, properties);
+        return new OrderProcessor(orderProcessorService, repository, logger, properties,
+                new OrderCache(properties, new SimpleMeterRegistry()),
+                new OrderProcessingMetrics(repository, metricsRegistry),
+                new OrderRollupService(rollupRepository, properties),
+                statusCounters);
+    }
+
+    private OrderProperties properties(String instanceId) {
+        var properties = new OrderProperties();
+        properties.getProcessor().setInstanceId(instanceId);
+        return properties;
+    }
+
+    private OrderProperties properties(String instanceId, int chunkSize) {
+        var properties = properties(instanceId);
+        properties.getProcessor().setChunkSize(chunkSize);
+        return properties;
+    }
+
+    private Order processingOrder(String externalId) {
+        Order order = new Order();
+        order.setExternalId(externalId);
+        order.setStatus(OrderStatus.PROCESSING);
+        order.setItems(List.of(new OrderItem("Caneca", new BigDecimal("10.00"), 1)));
+        order.setTraceId(UUID.randomUUID().toString());
+        return order;
+    }
+}
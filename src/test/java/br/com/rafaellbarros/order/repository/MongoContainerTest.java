@@ -0,0 +1,42 @@
+package br.com.rafaellbarros.order.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base dos testes que dependem do comportamento do próprio MongoDB (índices, filtros atômicos, agregações).
+ * Sobe um container por classe e limpa o banco antes de cada teste; sem Docker, os testes são pulados.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+abstract class MongoContainerTest {
+
+    @Container
+    static final MongoDBContainer MONGO = new MongoDBContainer("mongo:7.0");
+
+    private static MongoClient client;
+
+    protected static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void connect() {
+        client = MongoClients.create(MONGO.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(client, "orderdb_test");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        client.close();
+    }
+
+    @BeforeEach
+    void dropDatabase() {
+        mongoTemplate.getDb().drop();
+    }
+}
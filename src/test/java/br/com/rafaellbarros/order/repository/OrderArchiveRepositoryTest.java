@@ -0,0 +1,75 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderArchiveRepositoryTest extends MongoContainerTest {
+
+    private OrderArchiveRepository archiveRepository;
+
+    @BeforeEach
+    void setUp() {
+        archiveRepository = new OrderArchiveRepository(mongoTemplate);
+        archiveRepository.ensureIndexes();
+    }
+
+    @Test
+    void shouldCountOrderAlreadyInArchiveAsArchived() {
+        var order = order("ext-1");
+        archiveRepository.archive(List.of(order));
+
+        var archived = archiveRepository.archive(List.of(order, order("ext-2")));
+
+        assertEquals(2, archived.size());
+        assertEquals(2, mongoTemplate.getCollection(OrderArchiveRepository.COLLECTION).countDocuments());
+    }
+
+    @Test
+    void shouldNotReportOrderAsArchivedWhenAnotherOrderHoldsItsExternalId() {
+        var first = order("ext-1");
+        archiveRepository.archive(List.of(first));
+        var sameExternalId = order("ext-1");
+        var other = order("ext-2");
+
+        var archived = archiveRepository.archive(List.of(sameExternalId, other));
+
+        assertEquals(List.of(other.getId()), archived);
+        assertTrue(archiveRepository.findByExternalId("ext-1")
+                .map(found -> found.getId().equals(first.getId()))
+                .orElse(false));
+    }
+
+    @Test
+    void shouldFindArchivedOrdersThatEmbedTheItems() {
+        var referenced = OrderRepositoryCustomImplTest.item();
+        archiveRepository.archive(List.of(
+                OrderRepositoryCustomImplTest.order("ext-1", OrderStatus.CALCULATED, referenced)));
+
+        var orders = archiveRepository.findItemReferences(
+                List.of(referenced.getId(), ObjectId.get().toHexString()));
+
+        assertEquals(1, orders.size());
+        assertEquals(referenced.getId(), orders.get(0).getItems().get(0).getId());
+    }
+
+    private Order order(String externalId) {
+        return Order.builder()
+                .id(ObjectId.get().toHexString())
+                .externalId(externalId)
+                .status(OrderStatus.CALCULATED)
+                .totalAmount(new BigDecimal("10.00"))
+                .createdAt(LocalDateTime.now().minusDays(120))
+                .version(2L)
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderRepositoryCustomImplTest extends MongoContainerTest {
+
+    private OrderRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OrderRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void shouldFindOrdersThatEmbedTheItems() {
+        var referenced = item();
+        var other = item();
+        mongoTemplate.insert(order("ext-1", OrderStatus.RECEIVED, referenced, other));
+
+        var orders = repository.findItemReferences(List.of(referenced.getId(), ObjectId.get().toHexString()));
+
+        assertEquals(1, orders.size());
+        assertEquals(List.of(referenced.getId(), other.getId()),
+                orders.get(0).getItems().stream().map(OrderItem::getId).toList());
+    }
+
+    @Test
+    void shouldNotFindReferencesForItemsNoOrderEmbeds() {
+        mongoTemplate.insert(order("ext-1", OrderStatus.RECEIVED, item()));
+
+        assertTrue(repository.findItemReferences(List.of(ObjectId.get().toHexString())).isEmpty());
+    }
+
+    @Test
+    void shouldNeverHandTheSameOrderToTwoConcurrentClaimers() throws Exception {
+        IntStream.range(0, 300).forEach(i -> mongoTemplate.insert(order("ext-" + i, OrderStatus.RECEIVED, item())));
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var first = executor.submit(() -> drain("instance-a"));
+            var second = executor.submit(() -> drain("instance-b"));
+            var claimedByFirst = first.get();
+            var claimedBySecond = second.get();
+
+            assertTrue(claimedByFirst.stream().noneMatch(claimedBySecond::contains));
+            assertEquals(300, claimedByFirst.size() + claimedBySecond.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void shouldReturnOnlyOrdersWhoseLeaseWasStillHeldAtWriteBack() {
+        mongoTemplate.insert(order("ext-1", OrderStatus.RECEIVED, item()));
+        mongoTemplate.insert(order("ext-2", OrderStatus.RECEIVED, item()));
+        var claimed = repository.claimForProcessing("instance-a", 10, Duration.ofMinutes(5));
+        var lost = claimed.get(1);
+
+        // O lease de instance-a expira e instance-b retoma o pedido antes da gravação.
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(lost.getId())),
+                Update.update("leaseExpiresAt", LocalDateTime.now().minusMinutes(1)), Order.class);
+        repository.claimByIds(List.of(lost.getId()), "instance-b", Duration.ofMinutes(5));
+
+        claimed.forEach(order -> order.setStatus(OrderStatus.CALCULATED));
+        var written = repository.updateProcessingResults(claimed);
+
+        assertEquals(List.of(claimed.get(0).getId()), written.stream().map(Order::getId).toList());
+        assertEquals(OrderStatus.PROCESSING, mongoTemplate.findById(lost.getId(), Order.class).getStatus());
+    }
+
+    private Set<String> drain(String owner) {
+        var claimed = new HashSet<String>();
+        List<Order> chunk;
+        while (!(chunk = repository.claimForProcessing(owner, 25, Duration.ofMinutes(5))).isEmpty()) {
+            chunk.forEach(order -> claimed.add(order.getId()));
+        }
+        return claimed;
+    }
+
+    static OrderItem item() {
+        var item = new OrderItem("Caneca", new BigDecimal("10.00"), 1);
+        item.setId(ObjectId.get().toHexString());
+        return item;
+    }
+
+    static Order order(String externalId, OrderStatus status, OrderItem... items) {
+        return Order.builder()
+                .id(ObjectId.get().toHexString())
+                .externalId(externalId)
+                .status(status)
+                .items(List.of(items))
+                .createdAt(LocalDateTime.now())
+                .version(0L)
+                .build();
+    }
+}
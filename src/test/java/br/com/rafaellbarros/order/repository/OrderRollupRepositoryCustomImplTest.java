@@ -0,0 +1,102 @@
+package br.com.rafaellbarros.order.repository;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderRollup;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class OrderRollupRepositoryCustomImplTest extends MongoContainerTest {
+
+    private static final LocalDate YESTERDAY = LocalDate.now().minusDays(1);
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private OrderRollupRepositoryCustomImpl rollupRepository;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository = new OrderRollupRepositoryCustomImpl(mongoTemplate);
+    }
+
+    @Test
+    void shouldSumDeltasWithInc() {
+        var delta = rollup(TODAY, OrderStatus.CALCULATED, 1, 2, "10.50");
+
+        rollupRepository.increment(List.of(delta));
+        rollupRepository.increment(List.of(delta));
+
+        var stored = find(TODAY, OrderStatus.CALCULATED);
+        assertEquals(2, stored.getOrders());
+        assertEquals(4, stored.getItems());
+        assertEquals(0, new BigDecimal("21.00").compareTo(stored.getTotalAmount()));
+    }
+
+    @Test
+    void shouldRebuildClosedDaysFromHotAndArchivedOrders() {
+        mongoTemplate.insert(order(YESTERDAY, OrderStatus.CALCULATED, "30.00", 2));
+        mongoTemplate.insert(order(YESTERDAY, OrderStatus.CALCULATED, "12.50", 1), OrderArchiveRepository.COLLECTION);
+        mongoTemplate.insert(order(YESTERDAY, OrderStatus.FAILED, null, 1));
+        mongoTemplate.insert(order(YESTERDAY, OrderStatus.RECEIVED, null, 1));
+        // Valor desatualizado, como o de um bloco cujo incremento se perdeu.
+        mongoTemplate.insert(rollup(YESTERDAY, OrderStatus.CALCULATED, 1, 2, "30.00"));
+
+        rollupRepository.rebuild(TODAY);
+
+        var calculated = find(YESTERDAY, OrderStatus.CALCULATED);
+        assertEquals(YESTERDAY.toString(), calculated.getDay());
+        assertEquals(2, calculated.getOrders());
+        assertEquals(3, calculated.getItems());
+        assertEquals(0, new BigDecimal("42.50").compareTo(calculated.getTotalAmount()));
+        assertEquals(1, find(YESTERDAY, OrderStatus.FAILED).getOrders());
+        assertNull(find(YESTERDAY, OrderStatus.RECEIVED));
+    }
+
+    @Test
+    void shouldKeepIncrementsOfDaysThatAreNotClosed() {
+        mongoTemplate.insert(order(TODAY, OrderStatus.CALCULATED, "30.00", 2));
+        mongoTemplate.insert(rollup(TODAY, OrderStatus.CALCULATED, 5, 5, "99.00"));
+
+        rollupRepository.rebuild(TODAY);
+
+        assertEquals(5, find(TODAY, OrderStatus.CALCULATED).getOrders());
+    }
+
+    private OrderRollup find(LocalDate day, OrderStatus status) {
+        return mongoTemplate.findById(OrderRollup.idOf(day, status), OrderRollup.class);
+    }
+
+    private static OrderRollup rollup(LocalDate day, OrderStatus status, long orders, long items, String amount) {
+        return OrderRollup.builder()
+                .id(OrderRollup.idOf(day, status))
+                .day(day.toString())
+                .status(status)
+                .orders(orders)
+                .items(items)
+                .totalAmount(new BigDecimal(amount))
+                .build();
+    }
+
+    private static Order order(LocalDate day, OrderStatus status, String totalAmount, int items) {
+        return Order.builder()
+                .id(ObjectId.get().toHexString())
+                .externalId(ObjectId.get().toHexString())
+                .status(status)
+                .totalAmount(totalAmount == null ? null : new BigDecimal(totalAmount))
+                .items(IntStream.range(0, items)
+                        .mapToObj(i -> new OrderItem("Item", BigDecimal.ONE, 1))
+                        .toList())
+                .createdAt(day.atTime(12, 0))
+                .version(1L)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class OrderCreateCoalescerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderCreateCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void shouldCreateDirectlyWhenDisabled() {
+        var order = order("ext-1");
+        given(orderService.createOrder(order)).willReturn(order);
+        coalescer = coalescer(false, Duration.ofMillis(5), 10);
+        coalescer.start();
+
+        assertSame(order, coalescer.createOrder(order));
+        then(orderService).should(never()).createChunk(anyList());
+    }
+
+    @Test
+    void shouldWriteConcurrentCreatesAsOneBatchAndAnswerEachRequest() throws Exception {
+        var created = order("ext-1");
+        var duplicated = order("ext-2");
+        var invalid = order("ext-3");
+        given(orderService.createChunk(anyList())).willAnswer(invocation -> {
+            List<Order> requests = invocation.getArgument(0);
+            return requests.stream().map(request -> switch (request.getExternalId()) {
+                case "ext-1" -> OrderCreationResult.created(request);
+                case "ext-2" -> OrderCreationResult.duplicate(request.getExternalId());
+                default -> OrderCreationResult.invalid(request.getExternalId(), "items: inválido");
+            }).toList();
+        });
+        var registry = new SimpleMeterRegistry();
+        coalescer = coalescer(true, Duration.ofSeconds(2), 3, registry);
+        coalescer.start();
+
+        try (var executor = Executors.newFixedThreadPool(3)) {
+            Future<Order> first = executor.submit(() -> coalescer.createOrder(created));
+            Future<Order> second = executor.submit(() -> coalescer.createOrder(duplicated));
+            Future<Order> third = executor.submit(() -> coalescer.createOrder(invalid));
+
+            assertSame(created, first.get(5, TimeUnit.SECONDS));
+            assertEquals(HttpStatus.CONFLICT, statusOf(second));
+            assertEquals(HttpStatus.BAD_REQUEST, statusOf(third));
+        }
+
+        then(orderService).should().createChunk(anyList());
+        then(orderService).should(never()).createOrder(created);
+        assertEquals(1, registry.get("order_create_coalescer_batch_size").summary().count());
+        assertEquals(3, registry.get("order_create_coalescer_batch_size").summary().totalAmount());
+        assertEquals(3, registry.get("order_create_coalescer_wait_seconds").timer().count());
+    }
+
+    @Test
+    void shouldFlushAfterWindowEvenWhenBatchIsNotFull() {
+        var order = order("ext-1");
+        given(orderService.createChunk(anyList())).willReturn(List.of(OrderCreationResult.created(order)));
+        coalescer = coalescer(true, Duration.ofMillis(20), 100);
+        coalescer.start();
+
+        assertSame(order, coalescer.createOrder(order));
+    }
+
+    @Test
+    void shouldPropagateBatchFailureToEveryWaitingRequest() {
+        var order = order("ext-1");
+        given(orderService.createChunk(anyList())).willThrow(new IllegalStateException("Mongo indisponível"));
+        coalescer = coalescer(true, Duration.ofMillis(5), 100);
+        coalescer.start();
+
+        assertThrows(IllegalStateException.class, () -> coalescer.createOrder(order));
+    }
+
+    private static HttpStatus statusOf(Future<Order> future) throws Exception {
+        var ex = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return HttpStatus.valueOf(assertInstanceOf(ResponseStatusException.class, ex.getCause()).getStatusCode().value());
+    }
+
+    private OrderCreateCoalescer coalescer(boolean enabled, Duration window, int maxBatch) {
+        return coalescer(enabled, window, maxBatch, new SimpleMeterRegistry());
+    }
+
+    private OrderCreateCoalescer coalescer(boolean enabled, Duration window, int maxBatch, SimpleMeterRegistry registry) {
+        var properties = new OrderProperties();
+        properties.getCreate().getCoalescing().setEnabled(enabled);
+        properties.getCreate().getCoalescing().setWindow(window);
+        properties.getCreate().getCoalescing().setMaxBatch(maxBatch);
+        return new OrderCreateCoalescer(orderService, properties, registry);
+    }
+
+    private static Order order(String externalId) {
+        return Order.builder().id("id-" + externalId).externalId(externalId).build();
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.logger.OrderLogger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIngestServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private OrderLogger orderLogger;
+
+    private OrderIngestService ingestService;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new OrderProperties();
+        properties.getBatch().setChunkSize(2);
+        ingestService = new OrderIngestService(orderService, orderLogger, new ObjectMapper().findAndRegisterModules(), properties);
+
+        given(orderService.createChunk(anyList())).willAnswer(invocation -> {
+            List<Order> chunk = invocation.getArgument(0);
+            return chunk.stream().map(OrderCreationResult::created).toList();
+        });
+    }
+
+    @Test
+    void shouldPersistInChunksAndStreamOneResultPerOrder() throws Exception {
+        var body = """
+                {"externalId":"ext-1","items":[{"name":"Item 1","price":100.00,"quantity":2}]}
+                {"externalId":"ext-2","items":[{"name":"Item 2","price":250.00,"quantity":1}]}
+                {"externalId":"ext-3","items":[{"name":"Item 3","price":60.25,"quantity":2}]}
+                """;
+        var output = new ByteArrayOutputStream();
+
+        ingestService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+
+        var lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"externalId\":\"ext-1\""));
+        assertTrue(lines.get(2).contains("\"status\":\"CREATED\""));
+        then(orderService).should(times(2)).createChunk(anyList());
+        then(orderLogger).should().ingested(3, 3);
+    }
+
+    @Test
+    void shouldReportUnreadableOrderAndContinueWithTheNextOne() throws Exception {
+        var body = """
+                {"externalId":"ext-1","items":[{"name":"Item 1","price":100.00,"quantity":2}]}
+                {"externalId":"ext-2","items":[{"name":"Item 2","price":"abc","quantity":1}]}
+                {"externalId":"ext-3","items":[{"name":"Item 3","price":60.25,"quantity":2}]}
+                """;
+        var output = new ByteArrayOutputStream();
+
+        ingestService.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+
+        var lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).contains("\"status\":\"CREATED\""));
+        assertTrue(lines.get(1).contains("\"status\":\"INVALID\""));
+        assertTrue(lines.get(2).contains("\"externalId\":\"ext-3\""));
+        then(orderLogger).should().ingested(3, 2);
+    }
+}
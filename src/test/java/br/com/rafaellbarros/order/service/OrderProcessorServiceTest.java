@@ -1,30 +1,43 @@
 package br.com.rafaellbarros.order.service;
 
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
 import br.com.rafaellbarros.order.domain.Order;
 import br.com.rafaellbarros.order.domain.OrderItem;
 import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.logger.LogSampler;
 import br.com.rafaellbarros.order.logger.OrderProcessorLogger;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 class OrderProcessorServiceTest {
 
+    private SimpleMeterRegistry registry;
+    private OrderProcessorLogger logger;
     private OrderProcessorService service;
 
     @BeforeEach
     void setUp() {
-        SimpleMeterRegistry registry = new SimpleMeterRegistry();
-        OrderProcessorLogger logger = new OrderProcessorLogger();
-        service = new OrderProcessorService(registry, logger);
+        registry = new SimpleMeterRegistry();
+        logger = new OrderProcessorLogger(new LogSampler(new OrderProperties()));
+        service = new OrderProcessorService(registry, logger, new OrderProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
     }
 
     @Test
@@ -63,4 +76,37 @@ class OrderProcessorServiceTest {
         assertEquals(OrderStatus.FAILED, result.getStatus());
         assertTrue(result.getProcessingMessage().startsWith("Erro:"));
     }
+
+    @ParameterizedTest
+    @EnumSource(ProcessingEngine.class)
+    void shouldKeepOrderAndCountersWithEveryEngine(ProcessingEngine engine) {
+        service.shutdown();
+        var properties = new OrderProperties();
+        properties.getProcessor().setEngine(engine);
+        properties.getProcessor().setParallelism(4);
+        service = new OrderProcessorService(registry, logger, properties);
+
+        var orders = IntStream.range(0, 1_000)
+                .mapToObj(i -> order("EXT-" + i, i % 10 == 0 ? null : new BigDecimal("1.50")))
+                .toList();
+
+        List<Order> processed = service.processOrders(orders);
+
+        assertEquals(orders.size(), processed.size());
+        for (int i = 0; i < processed.size(); i++) {
+            assertEquals("EXT-" + i, processed.get(i).getExternalId());
+        }
+        assertEquals(900, processed.stream().filter(o -> o.getStatus() == OrderStatus.CALCULATED).count());
+        assertEquals(900, registry.counter("order_processor_processed_total").count());
+        assertEquals(100, registry.counter("order_processor_errors_total").count());
+        assertEquals(1, registry.timer("order_processor_duration_seconds").count());
+    }
+
+    private Order order(String externalId, BigDecimal price) {
+        Order order = new Order();
+        order.setExternalId(externalId);
+        order.setTraceId("TRACE-" + externalId);
+        order.setItems(List.of(new OrderItem("Produto", price, 2)));
+        return order;
+    }
 }
@@ -0,0 +1,124 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderRollup;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.repository.OrderRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class OrderRollupServiceTest {
+
+    @Mock
+    private OrderRollupRepository rollupRepository;
+
+    @Captor
+    private ArgumentCaptor<Collection<OrderRollup>> deltas;
+
+    private OrderRollupService service;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new OrderProperties();
+        properties.getRollups().setMaxRangeDays(31);
+        service = new OrderRollupService(rollupRepository, properties);
+    }
+
+    @Test
+    void shouldGroupProcessedOrdersByDayAndStatus() {
+        service.record(List.of(
+                order(LocalDateTime.of(2024, 5, 10, 8, 0), OrderStatus.CALCULATED, "10.50", 2),
+                order(LocalDateTime.of(2024, 5, 10, 23, 59), OrderStatus.CALCULATED, "4.50", 1),
+                order(LocalDateTime.of(2024, 5, 10, 9, 0), OrderStatus.FAILED, null, 3),
+                order(LocalDateTime.of(2024, 5, 11, 0, 0), OrderStatus.CALCULATED, "1.00", 1)));
+
+        then(rollupRepository).should().increment(deltas.capture());
+        Map<String, OrderRollup> byId = deltas.getValue().stream()
+                .collect(Collectors.toMap(OrderRollup::getId, Function.identity()));
+
+        assertEquals(3, byId.size());
+        var calculated = byId.get("2024-05-10:CALCULATED");
+        assertEquals("2024-05-10", calculated.getDay());
+        assertEquals(2, calculated.getOrders());
+        assertEquals(3, calculated.getItems());
+        assertEquals(0, new BigDecimal("15.00").compareTo(calculated.getTotalAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(byId.get("2024-05-10:FAILED").getTotalAmount()));
+        assertEquals(1, byId.get("2024-05-11:CALCULATED").getOrders());
+    }
+
+    @Test
+    void shouldSumRollupsOfThePeriodByStatus() {
+        given(rollupRepository.findByDayRange("2024-05-01", "2024-05-31")).willReturn(List.of(
+                rollup("2024-05-10", OrderStatus.CALCULATED, 2, 3, "15.00"),
+                rollup("2024-05-10", OrderStatus.FAILED, 1, 3, null),
+                rollup("2024-05-11", OrderStatus.CALCULATED, 1, 1, "1.00")));
+
+        var report = service.report(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31));
+
+        assertEquals(3, report.days().size());
+        var calculated = report.totals().get(0);
+        assertEquals(OrderStatus.CALCULATED, calculated.status());
+        assertEquals(3, calculated.orders());
+        assertEquals(4, calculated.items());
+        assertEquals(0, new BigDecimal("16.00").compareTo(calculated.totalAmount()));
+        assertEquals(OrderStatus.FAILED, report.totals().get(1).status());
+    }
+
+    @Test
+    void shouldRejectInvalidOrTooLongPeriods() {
+        var inverted = assertThrows(ResponseStatusException.class,
+                () -> service.report(LocalDate.of(2024, 5, 2), LocalDate.of(2024, 5, 1)));
+        var tooLong = assertThrows(ResponseStatusException.class,
+                () -> service.report(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 6, 1)));
+
+        assertEquals(HttpStatus.BAD_REQUEST, inverted.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, tooLong.getStatusCode());
+        then(rollupRepository).should(never()).findByDayRange(anyString(), anyString());
+    }
+
+    private Order order(LocalDateTime createdAt, OrderStatus status, String total, int items) {
+        var order = new Order();
+        order.setCreatedAt(createdAt);
+        order.setStatus(status);
+        order.setTotalAmount(total == null ? null : new BigDecimal(total));
+        order.setItems(Collections.nCopies(items, new OrderItem("Caneca", BigDecimal.ONE, 1)));
+        return order;
+    }
+
+    private OrderRollup rollup(String day, OrderStatus status, long orders, long items, String total) {
+        return OrderRollup.builder()
+                .day(day)
+                .status(status)
+                .orders(orders)
+                .items(items)
+                .totalAmount(total == null ? null : new BigDecimal(total))
+                .build();
+    }
+}
@@ -1,20 +1,38 @@
 package br.com.rafaellbarros.order.service;
 
+import br.com.rafaellbarros.order.cache.ExternalIdBloomFilter;
+import br.com.rafaellbarros.order.cache.OrderCache;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.ItemPersistence;
 import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.domain.OrderPage;
+import br.com.rafaellbarros.order.domain.OrderPageCursor;
 import br.com.rafaellbarros.order.domain.OrderItem;
 import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.domain.OrderSummary;
+import br.com.rafaellbarros.order.domain.OrdersReceivedEvent;
 import br.com.rafaellbarros.order.factory.OrderFactory;
 import br.com.rafaellbarros.order.logger.OrderLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
 import br.com.rafaellbarros.order.repository.OrderItemRepository;
 import br.com.rafaellbarros.order.repository.OrderRepository;
+import br.com.rafaellbarros.order.validation.OrderValidator;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -23,6 +41,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -48,6 +67,27 @@ class OrderServiceTest {
     @Mock
     private OrderLogger orderLogger;
 
+    @Mock
+    private OrderValidator orderValidator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderStatusCounters statusCounters;
+
+    @Mock
+    private OrderArchiveRepository orderArchiveRepository;
+
+    @Spy
+    private OrderProperties properties = new OrderProperties();
+
+    @Spy
+    private OrderCache orderCache = new OrderCache(new OrderProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private ExternalIdBloomFilter knownExternalIds = new ExternalIdBloomFilter(new OrderProperties(), new SimpleMeterRegistry());
+
     @InjectMocks
     private OrderService orderService;
 
@@ -72,26 +112,110 @@ class OrderServiceTest {
 
     @Test
     void shouldCreateOrderSuccessfully() {
-        given(orderRepository.findByExternalId("order-123")).willReturn(Optional.empty());
-        given(orderItemRepository.saveAll(validOrder.getItems())).willReturn(validOrder.getItems());
         given(orderFactory.createFrom(validOrder)).willReturn(validOrder);
-        given(orderRepository.save(validOrder)).willReturn(validOrder);
+        given(orderRepository.insert(validOrder)).willReturn(validOrder);
 
         Order result = orderService.createOrder(validOrder);
 
         assertNotNull(result);
         assertEquals(OrderStatus.RECEIVED, result.getStatus());
         assertEquals("order-123", result.getExternalId());
-        then(orderRepository).should().findByExternalId("order-123");
-        then(orderItemRepository).should().saveAll(validOrder.getItems());
-        then(orderLogger).should().sevedItems(validOrder.getItems());
+        then(orderRepository).should(never()).findByExternalId(anyString());
+        then(orderItemRepository).shouldHaveNoInteractions();
         then(orderFactory).should().createFrom(validOrder);
-        then(orderRepository).should().save(validOrder);
+        then(orderRepository).should().insert(validOrder);
         then(orderLogger).should().saved(validOrder);
+        then(statusCounters).should().received(1);
+        then(eventPublisher).should().publishEvent(new OrdersReceivedEvent(List.of("1")));
+    }
+
+    @Test
+    void shouldThrowConflictWhenUniqueIndexRejectsInsert() {
+        given(orderFactory.createFrom(validOrder)).willReturn(validOrder);
+        given(orderRepository.insert(validOrder)).willThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> orderService.createOrder(validOrder));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertEquals("Pedido duplicado externalId: order-123", ex.getReason());
+        then(orderLogger).should().duplicated("order-123");
+        then(orderLogger).should(never()).saved(any());
+        then(statusCounters).shouldHaveNoInteractions();
+        then(eventPublisher).shouldHaveNoInteractions();
+    }
+
+    @Test
+    void shouldCheckDuplicatedBeforeInsertWhenInsertFirstIsDisabled() {
+        properties.getCreate().setInsertFirst(false);
+        given(orderRepository.findByExternalId("order-123")).willReturn(Optional.empty());
+        given(orderFactory.createFrom(validOrder)).willReturn(validOrder);
+        given(orderRepository.insert(validOrder)).willReturn(validOrder);
+
+        Order result = orderService.createOrder(validOrder);
+
+        assertEquals("order-123", result.getExternalId());
+        then(orderRepository).should().findByExternalId("order-123");
+        then(orderRepository).should().insert(validOrder);
+    }
+
+    @Test
+    void shouldSkipDuplicateQueryForExternalIdsTheBloomFilterHasNeverSeen() {
+        properties.getCreate().setInsertFirst(false);
+        properties.getArchive().setEnabled(true);
+        knownExternalIds.markReady();
+        given(orderFactory.createFrom(validOrder)).willReturn(validOrder);
+        given(orderRepository.insert(validOrder)).willReturn(validOrder);
+
+        orderService.createOrder(validOrder);
+
+        then(orderRepository).should(never()).findByExternalId(anyString());
+        then(orderArchiveRepository).should().existsByExternalId("order-123");
+        assertTrue(knownExternalIds.mightContain("order-123"));
+    }
+
+    @Test
+    void shouldQueryOnlyExternalIdsTheBloomFilterMightContain() {
+        knownExternalIds.put("order-123");
+        knownExternalIds.markReady();
+        Order order2 = order("order-456");
+        given(orderFactory.createFrom(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        orderService.createOrders(List.of(validOrder, order2));
+
+        then(orderRepository).should().findExternalIdsIn(Set.of("order-123"));
+    }
+
+    @Test
+    void shouldCopyItemsToCollectionOnlyAfterOrderIsInserted() {
+        properties.getItems().setPersistence(ItemPersistence.COLLECTION);
+        given(orderFactory.createFrom(validOrder)).willReturn(validOrder);
+        given(orderRepository.insert(validOrder)).willReturn(validOrder);
+        given(orderItemRepository.insert(anyList())).willReturn(List.of(item));
+
+        orderService.createOrder(validOrder);
+
+        assertNotNull(item.getId());
+        InOrder inOrder = inOrder(orderRepository, orderItemRepository);
+        inOrder.verify(orderRepository).insert(validOrder);
+        inOrder.verify(orderItemRepository).insert(List.of(item));
+        then(orderItemRepository).should(never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldNotCopyItemsWhenOrderInsertFails() {
+        properties.getItems().setPersistence(ItemPersistence.COLLECTION);
+        given(orderFactory.createFrom(validOrder)).willReturn(validOrder);
+        given(orderRepository.insert(validOrder)).willThrow(new DuplicateKeyException("E11000 duplicate key"));
+
+        assertThrows(ResponseStatusException.class, () -> orderService.createOrder(validOrder));
+
+        then(orderItemRepository).shouldHaveNoInteractions();
     }
 
     @Test
     void shouldThrowConflictWhenOrderIsDuplicated() {
+        properties.getCreate().setInsertFirst(false);
         given(orderRepository.findByExternalId("order-123")).willReturn(Optional.of(validOrder));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
@@ -101,7 +225,7 @@ class OrderServiceTest {
         then(orderLogger).should().duplicated("order-123");
         then(orderItemRepository).shouldHaveNoInteractions();
         then(orderFactory).shouldHaveNoInteractions();
-        then(orderRepository).should(never()).save(any());
+        then(orderRepository).should(never()).insert(any(Order.class));
     }
 
     @Test
@@ -110,62 +234,88 @@ class OrderServiceTest {
         order2.setExternalId("order-456");
         order2.setItems(List.of(item));
 
-        given(orderRepository.findByExternalId(anyString())).willReturn(Optional.empty());
-        given(orderItemRepository.saveAll(anyList())).willReturn(List.of(item));
         given(orderFactory.createFrom(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
-        given(orderRepository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
 
-        List<Order> savedOrders = orderService.createOrders(List.of(validOrder, order2));
+        List<OrderCreationResult> results = orderService.createOrders(List.of(validOrder, order2));
 
-        assertEquals(2, savedOrders.size());
-        then(orderRepository).should(times(2)).findByExternalId(anyString());
-        then(orderItemRepository).should(times(2)).saveAll(anyList());
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(OrderCreationResult::isCreated));
+        assertEquals("order-123", results.get(0).externalId());
+        assertEquals("order-456", results.get(1).externalId());
+        then(orderRepository).should().findExternalIdsIn(Set.of("order-123", "order-456"));
+        then(orderRepository).should(never()).findByExternalId(anyString());
+        then(orderItemRepository).shouldHaveNoInteractions();
         then(orderFactory).should(times(2)).createFrom(any(Order.class));
-        then(orderRepository).should().saveAll(anyList());
-        then(orderLogger).should().savedOrders(savedOrders);
+        then(orderRepository).should().insertUnordered(List.of(validOrder, order2));
+        then(orderLogger).should().savedOrders(List.of(validOrder, order2));
     }
 
     @Test
-    void shouldIgnoreOrderWhenResponseStatusExceptionOccurs() {
-        Order order = new Order();
-        order.setExternalId("order-123");
-        order.setItems(List.of(new OrderItem()));
-
-        given(orderRepository.findByExternalId("order-123")).willReturn(Optional.empty());
-        given(orderItemRepository.saveAll(order.getItems()))
-                .willThrow(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Dados inválidos"));
-
-        Optional<Order> result = orderService.createFromIfValid(order);
-
-        assertTrue(result.isEmpty());
-        then(orderLogger).should().invalidIgnored("order-123", "Dados inválidos");
+    void shouldReportDuplicatedAndInvalidOrdersWithoutAbortingBatch() {
+        Order existing = order("order-existing");
+        Order repeated = order("order-new");
+        Order invalid = order("order-invalid");
+        Order raced = order("order-raced");
+        Order created = order("order-new");
+
+        given(orderRepository.findExternalIdsIn(anyCollection())).willReturn(List.of(existing));
+        given(orderValidator.validate(invalid)).willReturn(Optional.of("items: Lista de itens não pode estar vazia"));
+        given(orderFactory.createFrom(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(orderRepository.insertUnordered(anyList()))
+                .willReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+
+        List<OrderCreationResult> results = orderService.createOrders(List.of(existing, created, invalid, raced, repeated));
+
+        assertEquals(OrderCreationResult.Status.DUPLICATE, results.get(0).status());
+        assertEquals(OrderCreationResult.Status.CREATED, results.get(1).status());
+        assertEquals(OrderCreationResult.Status.INVALID, results.get(2).status());
+        assertEquals("items: Lista de itens não pode estar vazia", results.get(2).reason());
+        assertEquals(OrderCreationResult.Status.DUPLICATE, results.get(3).status());
+        assertEquals(OrderCreationResult.Status.DUPLICATE, results.get(4).status());
+        then(orderRepository).should().insertUnordered(List.of(created, raced));
+        then(orderLogger).should().savedOrders(List.of(created));
+        then(eventPublisher).should().publishEvent(new OrdersReceivedEvent(List.of("id-order-new")));
     }
 
     @Test
-    void shouldIgnoreOrderWhenUnexpectedRuntimeExceptionOccurs() {
-        Order order = new Order();
-        order.setExternalId("order-456");
-        order.setItems(List.of(new OrderItem()));
+    void shouldCopyItemsOfCreatedOrdersInOneInsertPerChunk() {
+        properties.getItems().setPersistence(ItemPersistence.COLLECTION);
+        OrderItem createdItem = new OrderItem("Caneca", BigDecimal.TEN, 1);
+        OrderItem rejectedItem = new OrderItem("Copo", BigDecimal.ONE, 1);
+        Order created = order("order-created");
+        created.setItems(List.of(createdItem));
+        Order rejected = order("order-rejected");
+        rejected.setItems(List.of(rejectedItem));
 
-        given(orderRepository.findByExternalId("order-456")).willReturn(Optional.empty());
-        given(orderItemRepository.saveAll(order.getItems()))
-                .willThrow(new NullPointerException("Erro simulado"));
+        given(orderFactory.createFrom(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(orderRepository.insertUnordered(anyList()))
+                .willReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
 
-        Optional<Order> result = orderService.createFromIfValid(order);
+        orderService.createOrders(List.of(created, rejected));
 
-        assertTrue(result.isEmpty());
-        then(orderLogger).should().invalidIgnored("order-456", "Erro inesperado: NullPointerException");
+        then(orderItemRepository).should().insert(List.of(createdItem));
+        then(orderItemRepository).shouldHaveNoMoreInteractions();
     }
 
+    @Test
+    void shouldQueryDuplicatesOncePerChunk() {
+        properties.getBatch().setChunkSize(2);
+        given(orderFactory.createFrom(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
 
+        List<OrderCreationResult> results = orderService.createOrders(
+                List.of(order("a"), order("b"), order("c"), order("d"), order("e")));
 
+        assertEquals(5, results.size());
+        then(orderRepository).should(times(3)).findExternalIdsIn(anyCollection());
+        then(orderRepository).should(times(3)).insertUnordered(anyList());
+    }
 
     @Test
     void shouldThrowConflictWhenAllOrdersDuplicated() {
         Order duplicatedOrder = new Order();
         duplicatedOrder.setExternalId("123");
 
-        when(orderRepository.findByExternalId(any())).thenReturn(Optional.of(duplicatedOrder));
+        given(orderRepository.findExternalIdsIn(anyCollection())).willReturn(List.of(duplicatedOrder));
 
         List<Order> list = List.of(duplicatedOrder, duplicatedOrder);
 
@@ -174,6 +324,7 @@ class OrderServiceTest {
 
         assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
         assertEquals("Nenhum pedido válido para processar", ex.getReason());
+        then(orderLogger).should(times(2)).duplicatedIgnored("123");
     }
 
     @Test
@@ -189,6 +340,63 @@ class OrderServiceTest {
         then(orderLogger).should().found("1");
     }
 
+    @Test
+    void shouldFallBackToArchiveWhenOrderLeftHotCollection() {
+        validOrder.setStatus(OrderStatus.CALCULATED);
+        given(orderRepository.findByExternalId("order-123")).willReturn(Optional.empty());
+        given(orderArchiveRepository.findByExternalId("order-123")).willReturn(Optional.of(validOrder));
+
+        Optional<Order> result = orderService.getOrderByExternalId("order-123");
+
+        assertTrue(result.isPresent());
+        then(orderLogger).should().found("1");
+    }
+
+    @Test
+    void shouldReportArchivedExternalIdsAsDuplicatedEvenIfBloomFilterNeverSawThem() {
+        properties.getArchive().setEnabled(true);
+        knownExternalIds.put("order-123");
+        knownExternalIds.markReady();
+        Order archived = order("order-456");
+        given(orderFactory.createFrom(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(orderRepository.findExternalIdsIn(anyCollection())).willReturn(List.of(validOrder));
+        given(orderArchiveRepository.findExternalIdsIn(List.of("order-456"))).willReturn(Set.of("order-456"));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> orderService.createOrders(List.of(validOrder, archived)));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        then(orderRepository).should().findExternalIdsIn(Set.of("order-123"));
+        then(orderRepository).should().insertUnordered(List.of());
+    }
+
+    @Test
+    void shouldRejectArchivedExternalIdInInsertFirstModeEvenIfBloomFilterNeverSawIt() {
+        properties.getArchive().setEnabled(true);
+        knownExternalIds.markReady();
+        given(orderArchiveRepository.existsByExternalId("order-123")).willReturn(true);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> orderService.createOrder(validOrder));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        then(orderRepository).should(never()).insert(any(Order.class));
+    }
+
+    @Test
+    void shouldNotQueryArchiveWhenArchivingIsDisabled() {
+        properties.getCreate().setInsertFirst(false);
+        knownExternalIds.markReady();
+        given(orderFactory.createFrom(any(Order.class))).willAnswer(invocation -> invocation.getArgument(0));
+        given(orderRepository.insert(validOrder)).willReturn(validOrder);
+
+        orderService.createOrder(validOrder);
+        orderService.createOrders(List.of(order("order-456")));
+
+        then(orderArchiveRepository).should(never()).existsByExternalId(anyString());
+        then(orderArchiveRepository).should(never()).findExternalIdsIn(anyCollection());
+    }
+
     @Test
     void shouldReturnEmptyWhenExternalIdNotFound() {
         given(orderRepository.findByExternalId("not-found")).willReturn(Optional.empty());
@@ -204,23 +412,72 @@ class OrderServiceTest {
         OrderStatus status = OrderStatus.RECEIVED;
         List<Order> mockOrders = List.of(validOrder);
 
-        given(orderRepository.findByStatus(status)).willReturn(mockOrders);
+        given(orderRepository.findPageByStatus(status, null, 100)).willReturn(mockOrders);
 
-        List<Order> result = orderService.getOrdersByStatus(status);
+        OrderPage<Order> result = orderService.getOrdersByStatus(status, null, null);
 
-        assertEquals(1, result.size());
-        assertEquals(OrderStatus.RECEIVED, result.get(0).getStatus());
+        assertEquals(1, result.items().size());
+        assertEquals(OrderStatus.RECEIVED, result.items().get(0).getStatus());
+        assertNull(result.nextCursor());
     }
 
     @Test
     void shouldReturnEmptyListWhenNoOrdersWithStatus() {
         OrderStatus status = OrderStatus.RECEIVED;
-        given(orderRepository.findByStatus(status)).willReturn(Collections.emptyList());
+        given(orderRepository.findPageByStatus(status, null, 100)).willReturn(Collections.emptyList());
 
-        List<Order> result = orderService.getOrdersByStatus(status);
+        OrderPage<Order> result = orderService.getOrdersByStatus(status, null, null);
 
-        assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertNotNull(result.items());
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void shouldReturnCursorOfLastOrderWhenPageIsFull() {
+        OrderStatus status = OrderStatus.CALCULATED;
+        given(orderRepository.findPageByStatus(status, null, 1)).willReturn(List.of(validOrder));
+
+        OrderPage<Order> firstPage = orderService.getOrdersByStatus(status, null, 1);
+
+        assertNotNull(firstPage.nextCursor());
+        OrderPageCursor cursor = OrderPageCursor.decode(firstPage.nextCursor());
+        assertEquals(validOrder.getId(), cursor.id());
+        assertEquals(validOrder.getCreatedAt(), cursor.createdAt());
+
+        orderService.getOrdersByStatus(status, firstPage.nextCursor(), 1);
+
+        then(orderRepository).should().findPageByStatus(status, cursor, 1);
+    }
+
+    @Test
+    void shouldPageSummariesWithTheSameCursor() {
+        OrderStatus status = OrderStatus.CALCULATED;
+        OrderSummary summary = new OrderSummary(validOrder.getId(), validOrder.getExternalId(), status,
+                BigDecimal.TEN, validOrder.getCreatedAt(), null);
+        given(orderRepository.findSummaryPageByStatus(status, null, 1)).willReturn(List.of(summary));
+
+        OrderPage<OrderSummary> firstPage = orderService.getOrderSummariesByStatus(status, null, 1);
+        orderService.getOrderSummariesByStatus(status, firstPage.nextCursor(), 1);
+
+        then(orderRepository).should().findSummaryPageByStatus(status,
+                new OrderPageCursor(validOrder.getCreatedAt(), validOrder.getId()), 1);
+        then(orderRepository).should(never()).findPageByStatus(any(), any(), anyInt());
+    }
+
+    @Test
+    void shouldClampPageSizeToConfiguredMaximum() {
+        orderService.getOrdersByStatus(OrderStatus.RECEIVED, null, 1_000_000);
+
+        then(orderRepository).should().findPageByStatus(OrderStatus.RECEIVED, null, 1000);
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> orderService.getOrdersByStatus(OrderStatus.RECEIVED, "não-é-cursor", null));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
     }
 
     @Test
@@ -234,4 +491,12 @@ class OrderServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
         assertEquals("Lista de pedidos não pode estar vazia", exception.getReason());
     }
+
+    private Order order(String externalId) {
+        Order order = new Order();
+        order.setId("id-" + externalId);
+        order.setExternalId(externalId);
+        order.setItems(List.of(item));
+        return order;
+    }
 }
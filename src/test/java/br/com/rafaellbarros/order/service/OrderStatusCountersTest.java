@@ -0,0 +1,96 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.logger.OrderMaintenanceLogger;
+import br.com.rafaellbarros.order.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusCountersTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private SimpleMeterRegistry registry;
+    private OrderStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        counters = new OrderStatusCounters(orderRepository, new OrderMaintenanceLogger(), registry);
+    }
+
+    @Test
+    void shouldSeedFromDatabaseAndFollowTransitions() {
+        given(orderRepository.countByStatus(OrderStatus.RECEIVED)).willReturn(10L);
+        given(orderRepository.countByStatus(OrderStatus.PROCESSING)).willReturn(0L);
+        given(orderRepository.countByStatus(OrderStatus.CALCULATED)).willReturn(5L);
+        given(orderRepository.countByStatus(OrderStatus.FAILED)).willReturn(1L);
+
+        counters.seed();
+        counters.received(3);
+        counters.transition(OrderStatus.RECEIVED, OrderStatus.PROCESSING, 2);
+        counters.processed(List.of(order(OrderStatus.CALCULATED), order(OrderStatus.FAILED)));
+
+        var stats = counters.snapshot();
+        assertEquals(11, stats.byStatus().get(OrderStatus.RECEIVED));
+        assertEquals(0, stats.byStatus().get(OrderStatus.PROCESSING));
+        assertEquals(6, stats.byStatus().get(OrderStatus.CALCULATED));
+        assertEquals(2, stats.byStatus().get(OrderStatus.FAILED));
+        assertEquals(19, stats.total());
+        assertNotNull(stats.reconciledAt());
+        assertEquals(6, registry.get("order_status_count").tag("status", "CALCULATED").gauge().value());
+    }
+
+    @Test
+    void shouldCorrectDriftOnReconcile() {
+        given(orderRepository.countByStatus(OrderStatus.RECEIVED)).willReturn(4L);
+        given(orderRepository.countByStatus(OrderStatus.PROCESSING)).willReturn(0L);
+        given(orderRepository.countByStatus(OrderStatus.CALCULATED)).willReturn(0L);
+        given(orderRepository.countByStatus(OrderStatus.FAILED)).willReturn(0L);
+
+        counters.received(7);
+        counters.transition(OrderStatus.RECEIVED, OrderStatus.PROCESSING, 2);
+        counters.reconcile();
+
+        assertEquals(4, counters.snapshot().byStatus().get(OrderStatus.RECEIVED));
+        assertEquals(0, counters.snapshot().byStatus().get(OrderStatus.PROCESSING));
+    }
+
+    @Test
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        var executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counters.received(1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(80_000, counters.snapshot().byStatus().get(OrderStatus.RECEIVED));
+    }
+
+    private Order order(OrderStatus status) {
+        var order = new Order();
+        order.setStatus(status);
+        return order;
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.domain.OrderItem;
+import net.jqwik.api.Arbitraries;
+import net.jqwik.api.Arbitrary;
+import net.jqwik.api.Combinators;
+import net.jqwik.api.ForAll;
+import net.jqwik.api.From;
+import net.jqwik.api.Property;
+import net.jqwik.api.Provide;
+import net.jqwik.api.constraints.Size;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderTotalCalculatorTest {
+
+    @Property(tries = 2_000)
+    void shouldMatchBigDecimalCalculation(@ForAll @Size(max = 50) List<@From("items") OrderItem> items) {
+        assertEquals(OrderTotalCalculator.calculateWithBigDecimal(items), OrderTotalCalculator.calculate(items));
+    }
+
+    @Property(tries = 500)
+    void shouldMatchBigDecimalCalculationNearLongLimits(
+            @ForAll @Size(min = 1, max = 5) List<@From("hugeItems") OrderItem> items) {
+        assertEquals(OrderTotalCalculator.calculateWithBigDecimal(items), OrderTotalCalculator.calculate(items));
+    }
+
+    @Test
+    void shouldRoundHalfUpToCents() {
+        var items = List.of(new OrderItem("Item", new BigDecimal("0.005"), 1),
+                new OrderItem("Item", new BigDecimal("1.0049"), 1));
+
+        assertEquals(new BigDecimal("1.01"), OrderTotalCalculator.calculate(items));
+    }
+
+    @Test
+    void shouldReturnZeroWithTwoDecimalsForNoItems() {
+        assertEquals(new BigDecimal("0.00"), OrderTotalCalculator.calculate(List.of()));
+    }
+
+    @Test
+    void shouldFallBackWhenSumOverflowsLong() {
+        var items = List.of(new OrderItem("Item", BigDecimal.valueOf(Long.MAX_VALUE / 100, 2), Integer.MAX_VALUE));
+
+        assertEquals(OrderTotalCalculator.calculateWithBigDecimal(items), OrderTotalCalculator.calculate(items));
+    }
+
+    @Test
+    void shouldFailLikeBigDecimalCalculationWhenPriceIsMissing() {
+        var items = List.of(new OrderItem("Item", null, 1));
+
+        var expected = assertThrows(NullPointerException.class, () -> OrderTotalCalculator.calculateWithBigDecimal(items));
+        var actual = assertThrows(NullPointerException.class, () -> OrderTotalCalculator.calculate(items));
+        assertEquals(expected.getMessage(), actual.getMessage());
+    }
+
+    @Provide
+    Arbitrary<OrderItem> items() {
+        var prices = Combinators.combine(
+                Arbitraries.longs().between(-10_000_000L, 100_000_000L),
+                Arbitraries.integers().between(-2, 6)
+        ).as(BigDecimal::valueOf);
+        var quantities = Arbitraries.integers().between(1, 10_000);
+        return Combinators.combine(prices, quantities).as((price, quantity) -> new OrderItem("Item", price, quantity));
+    }
+
+    @Provide
+    Arbitrary<OrderItem> hugeItems() {
+        var prices = Combinators.combine(
+                Arbitraries.bigIntegers().between(BigInteger.valueOf(Long.MAX_VALUE).negate(),
+                        BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(2)),
+                Arbitraries.integers().between(0, 20)
+        ).as(BigDecimal::new);
+        var quantities = Arbitraries.integers().between(1, Integer.MAX_VALUE);
+        return Combinators.combine(prices, quantities).as((price, quantity) -> new OrderItem("Item", price, quantity));
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.rafaellbarros.order.service;
+
+import br.com.rafaellbarros.order.cache.ExternalIdBloomFilter;
+import br.com.rafaellbarros.order.config.properties.OrderProperties;
+import br.com.rafaellbarros.order.domain.Order;
+import br.com.rafaellbarros.order.domain.OrderCreationResult;
+import br.com.rafaellbarros.order.domain.OrderItem;
+import br.com.rafaellbarros.order.domain.OrderStatus;
+import br.com.rafaellbarros.order.domain.OrdersReceivedEvent;
+import br.com.rafaellbarros.order.factory.OrderFactory;
+import br.com.rafaellbarros.order.logger.OrderLogger;
+import br.com.rafaellbarros.order.repository.OrderArchiveRepository;
+import br.com.rafaellbarros.order.repository.ReactiveOrderRepository;
+import br.com.rafaellbarros.order.validation.OrderValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReactiveOrderServiceTest {
+
+    @Mock
+    private ReactiveOrderRepository orderRepository;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private OrderFactory orderFactory;
+
+    @Mock
+    private OrderLogger orderLogger;
+
+    @Mock
+    private OrderValidator orderValidator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderStatusCounters statusCounters;
+
+    @Spy
+    private OrderProperties properties = new OrderProperties();
+
+    @Spy
+    private ExternalIdBloomFilter knownExternalIds = new ExternalIdBloomFilter(new OrderProperties(), new SimpleMeterRegistry());
+
+    @InjectMocks
+    private ReactiveOrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        knownExternalIds.markReady();
+        given(orderValidator.validate(any())).willReturn(Optional.empty());
+        given(orderFactory.createFrom(any(Order.class))).willAnswer(invocation -> {
+            Order request = invocation.getArgument(0);
+            return order(request.getExternalId());
+        });
+        given(orderRepository.insert(any(Order.class))).willAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        given(mongoTemplate.exists(any(Query.class), eq(OrderArchiveRepository.COLLECTION))).willReturn(Mono.just(false));
+    }
+
+    @Test
+    void shouldCreateOrderAndNotifyProcessing() {
+        StepVerifier.create(orderService.createOrder(order("ext-1")))
+                .expectNextMatches(order -> order.getStatus() == OrderStatus.RECEIVED)
+                .verifyComplete();
+
+        then(eventPublisher).should().publishEvent(new OrdersReceivedEvent(List.of("id-ext-1")));
+    }
+
+    @Test
+    void shouldRejectDuplicatedOrderWithConflict() {
+        given(orderRepository.insert(any(Order.class))).willReturn(Mono.error(new DuplicateKeyException("E11000")));
+
+        StepVerifier.create(orderService.createOrder(order("ext-1")))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse
+                        && rse.getStatusCode() == HttpStatus.CONFLICT)
+                .verify();
+
+        then(eventPublisher).should(never()).publishEvent(any());
+    }
+
+    @Test
+    void shouldRejectOrderArchivedByAnotherReplicaEvenIfBloomFilterNeverSawIt() {
+        properties.getArchive().setEnabled(true);
+        given(mongoTemplate.exists(any(Query.class), eq(OrderArchiveRepository.COLLECTION))).willReturn(Mono.just(true));
+
+        StepVerifier.create(orderService.createOrder(order("ext-1")))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse
+                        && rse.getStatusCode() == HttpStatus.CONFLICT)
+                .verify();
+
+        then(orderRepository).should(never()).insert(any(Order.class));
+    }
+
+    @Test
+    void shouldReportArchivedOrderAsDuplicateInStream() {
+        properties.getArchive().setEnabled(true);
+        given(mongoTemplate.exists(any(Query.class), eq(OrderArchiveRepository.COLLECTION))).willReturn(Mono.just(true));
+
+        StepVerifier.create(orderService.createOrders(Flux.just(order("ext-1"))).map(OrderCreationResult::status))
+                .expectNext(OrderCreationResult.Status.DUPLICATE)
+                .verifyComplete();
+
+        then(orderRepository).should(never()).insert(any(Order.class));
+    }
+
+    @Test
+    void shouldNotQueryArchiveWhenArchivingIsDisabled() {
+        StepVerifier.create(orderService.createOrder(order("ext-1")))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        then(mongoTemplate).should(never()).exists(any(Query.class), eq(OrderArchiveRepository.COLLECTION));
+    }
+
+    @Test
+    void shouldRejectInvalidOrderWithBadRequest() {
+        given(orderValidator.validate(any())).willReturn(Optional.of("externalId: ExternalId é obrigatório"));
+
+        StepVerifier.create(orderService.createOrder(order(null)))
+                .expectErrorMatches(ex -> ex instanceof ResponseStatusException rse
+                        && rse.getStatusCode() == HttpStatus.BAD_REQUEST)
+                .verify();
+
+        then(orderRepository).should(never()).insert(any(Order.class));
+    }
+
+    @Test
+    void shouldReturnOneResultPerOrderInInputOrder() {
+        var invalid = order("ext-invalid");
+        given(orderValidator.validate(invalid)).willReturn(Optional.of("items: Lista de itens não pode estar vazia"));
+        given(orderRepository.insert(any(Order.class))).willAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            return order.getExternalId().equals("ext-existing")
+                    ? Mono.error(new DuplicateKeyException("E11000"))
+                    : Mono.just(order);
+        });
+
+        var requests = Flux.just(order("ext-1"), invalid, order("ext-1"), order("ext-existing"), order("ext-2"));
+
+        StepVerifier.create(orderService.createOrders(requests).map(OrderCreationResult::status))
+                .expectNext(OrderCreationResult.Status.CREATED,
+                        OrderCreationResult.Status.INVALID,
+                        OrderCreationResult.Status.DUPLICATE,
+                        OrderCreationResult.Status.DUPLICATE,
+                        OrderCreationResult.Status.CREATED)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldStreamOrdersByStatus() {
+        given(orderRepository.findByStatusOrderByCreatedAtAscIdAsc(OrderStatus.CALCULATED))
+                .willReturn(Flux.just(order("ext-1"), order("ext-2")));
+
+        StepVerifier.create(orderService.getOrdersByStatus(OrderStatus.CALCULATED).map(Order::getExternalId))
+                .expectNext("ext-1", "ext-2")
+                .verifyComplete();
+    }
+
+    private static Order order(String externalId) {
+        return Order.builder()
+                .id("id-" + externalId)
+                .externalId(externalId)
+                .status(OrderStatus.RECEIVED)
+                .items(List.of(new OrderItem("Item", BigDecimal.TEN, 1)))
+                .build();
+    }
+}